@@ -0,0 +1,72 @@
+package com.github.borisskert.cloneutils.processor;
+
+import java.util.List;
+
+/**
+ * The clone plan of one class annotated with {@code @GenerateCloner}, as Jackson would see it
+ */
+class ClassModel {
+    final String packageName;
+    final String className;
+    final String clonerName;
+
+    /**
+     * The parameter types of the properties-based creator or null if the class is created via its no-args constructor
+     */
+    final List<String> creatorParameterTypes;
+
+    /**
+     * The properties which are copied from the getters into a creator argument or a setter
+     */
+    final List<Property> properties;
+
+    /**
+     * The properties which are serialized and so take part in deepEquals
+     */
+    final List<Property> comparedProperties;
+
+    ClassModel(
+            String packageName,
+            String className,
+            String clonerName,
+            List<String> creatorParameterTypes,
+            List<Property> properties,
+            List<Property> comparedProperties
+    ) {
+        this.packageName = packageName;
+        this.className = className;
+        this.clonerName = clonerName;
+        this.creatorParameterTypes = creatorParameterTypes;
+        this.properties = properties;
+        this.comparedProperties = comparedProperties;
+    }
+
+    static class Property {
+        final String name;
+        final String getter;
+        final PropertyKind kind;
+        final String type;
+        final boolean primitive;
+
+        /**
+         * The index of the creator argument or -1 if the property is set via {@link #setter}
+         */
+        final int creatorIndex;
+
+        /**
+         * The format of the setter call like "%s.setName(%s)" or the field assignment like "%s.name = %s",
+         * to be formatted with the bean and the value
+         */
+        final String setter;
+
+        Property(String name, String getter, PropertyKind kind, String type, boolean primitive, int creatorIndex, String setter) {
+            this.name = name;
+            this.getter = getter;
+            this.kind = kind;
+            this.type = type;
+            this.primitive = primitive;
+            this.creatorIndex = creatorIndex;
+            this.setter = setter;
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package com.github.borisskert.cloneutils.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the clone plan of a class annotated with {@code @GenerateCloner} following Jackson's default bean conventions.
+ * Everything the generated cloner could not reproduce exactly is reported as compile error.
+ */
+class ClassModelReader {
+    static final String GENERATE_CLONER = "com.github.borisskert.cloneutils.GenerateCloner";
+
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_CREATOR = "com.fasterxml.jackson.annotation.JsonCreator";
+    private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+    private static final String JSON_IGNORE_PROPERTIES = "com.fasterxml.jackson.annotation.JsonIgnoreProperties";
+    private static final String JSON_PROPERTY_ORDER = "com.fasterxml.jackson.annotation.JsonPropertyOrder";
+
+    private static final Set<String> SUPPORTED_JACKSON_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            JSON_PROPERTY,
+            JSON_CREATOR,
+            JSON_IGNORE,
+            JSON_IGNORE_PROPERTIES,
+            JSON_PROPERTY_ORDER
+    ));
+
+    private static final Set<String> VALUE_TYPES = new HashSet<>(Arrays.asList(
+            "java.lang.String",
+            "java.lang.Boolean",
+            "java.lang.Character",
+            "java.lang.Byte",
+            "java.lang.Short",
+            "java.lang.Integer",
+            "java.lang.Long",
+            "java.lang.Float",
+            "java.lang.Double",
+            "java.math.BigInteger",
+            "java.math.BigDecimal",
+            "java.util.UUID",
+            "java.util.Locale",
+            "java.net.URI"
+    ));
+
+    private static final Set<String> LIST_TYPES = new HashSet<>(Arrays.asList(
+            "java.util.List",
+            "java.util.Collection"
+    ));
+
+    private final Elements elements;
+    private final Types types;
+
+    ClassModelReader(ProcessingEnvironment processingEnv) {
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    ClassModel read(TypeElement type) throws ProcessingException {
+        checkClass(type);
+
+        Set<String> ignoredNames = findIgnoredNames(type);
+        Map<String, Accessor> getters = findGetters(type, ignoredNames);
+        ExecutableElement creator = findCreator(type);
+
+        Map<String, Accessor> creatorParameters = new LinkedHashMap<>();
+        List<String> creatorParameterTypes = null;
+
+        if (creator != null) {
+            creatorParameterTypes = new ArrayList<>();
+
+            for (VariableElement parameter : creator.getParameters()) {
+                checkAnnotations(parameter);
+
+                String name = stringValue(parameter, JSON_PROPERTY);
+                creatorParameters.put(name, new Accessor(parameter, parameter.asType(), null));
+                creatorParameterTypes.add(parameter.asType().toString());
+            }
+        }
+
+        Map<String, Accessor> setters = findSetters(type, ignoredNames);
+
+        List<ClassModel.Property> properties = new ArrayList<>();
+        List<ClassModel.Property> comparedProperties = new ArrayList<>();
+
+        for (Map.Entry<String, Accessor> entry : getters.entrySet()) {
+            String name = entry.getKey();
+            Accessor getter = entry.getValue();
+
+            comparedProperties.add(comparedProperty(name, getter));
+
+            Accessor creatorParameter = creatorParameters.get(name);
+            Accessor setter = setters.get(name);
+
+            if (creatorParameter != null) {
+                int index = new ArrayList<>(creatorParameters.keySet()).indexOf(name);
+                properties.add(property(name, getter, creatorParameter, index, null));
+            } else if (setter != null) {
+                properties.add(property(name, getter, setter, -1, setter.setterFormat));
+            }
+        }
+
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+
+        return new ClassModel(
+                packageName,
+                type.getQualifiedName().toString(),
+                clonerNameOf(simpleBinaryNameOf(type)),
+                creatorParameterTypes,
+                properties,
+                comparedProperties
+        );
+    }
+
+    private String simpleBinaryNameOf(TypeElement type) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String binaryName = elements.getBinaryName(type).toString();
+
+        return packageElement.isUnnamed() ? binaryName : binaryName.substring(packageElement.getQualifiedName().length() + 1);
+    }
+
+    private String qualifiedClonerNameOf(TypeElement type) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String clonerName = clonerNameOf(simpleBinaryNameOf(type));
+
+        return packageElement.isUnnamed() ? clonerName : packageElement.getQualifiedName() + "." + clonerName;
+    }
+
+    /**
+     * Same naming convention as used by {@code StaticCloners} to find the generated cloner at runtime
+     */
+    static String clonerNameOf(String simpleBinaryName) {
+        return simpleBinaryName.replace('$', '_') + "_Cloner";
+    }
+
+    private void checkClass(TypeElement type) throws ProcessingException {
+        if (type.getKind() != ElementKind.CLASS) {
+            throw new ProcessingException("@GenerateCloner can only be applied to classes", type);
+        }
+
+        Set<Modifier> modifiers = type.getModifiers();
+
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            throw new ProcessingException("@GenerateCloner cannot be applied to abstract classes", type);
+        }
+
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            throw new ProcessingException("@GenerateCloner cannot be applied to private classes", type);
+        }
+
+        if (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            throw new ProcessingException("@GenerateCloner cannot be applied to inner classes, make it static", type);
+        }
+
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            throw new ProcessingException("@GenerateCloner cannot be applied to local classes", type);
+        }
+
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new ProcessingException("@GenerateCloner cannot be applied to generic classes", type);
+        }
+
+        checkAnnotations(type);
+    }
+
+    private void checkAnnotations(Element element) throws ProcessingException {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String annotationName = annotationNameOf(annotation);
+
+            if (annotationName.startsWith(JACKSON_PACKAGE) && !SUPPORTED_JACKSON_ANNOTATIONS.contains(annotationName)) {
+                throw new ProcessingException(
+                        "@GenerateCloner does not support @" + annotation.getAnnotationType().asElement().getSimpleName()
+                                + ", remove @GenerateCloner to clone this class at runtime",
+                        element
+                );
+            }
+        }
+    }
+
+    private Set<String> findIgnoredNames(TypeElement type) {
+        Set<String> ignoredNames = new HashSet<>();
+        AnnotationMirror ignoreProperties = findAnnotation(type, JSON_IGNORE_PROPERTIES);
+
+        if (ignoreProperties != null) {
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : ignoreProperties.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    for (Object value : (List<?>) entry.getValue().getValue()) {
+                        ignoredNames.add(String.valueOf(((AnnotationValue) value).getValue()));
+                    }
+                }
+            }
+        }
+
+        return ignoredNames;
+    }
+
+    private Map<String, Accessor> findGetters(TypeElement type, Set<String> ignoredNames) throws ProcessingException {
+        Map<String, Accessor> getters = new LinkedHashMap<>();
+        List<? extends Element> members = elements.getAllMembers(type);
+
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            if (isStatic(field) || !isVisible(field, field.getModifiers().contains(Modifier.PUBLIC))) continue;
+
+            String name = nameOf(field, field.getSimpleName().toString());
+            if (name == null || ignoredNames.contains(name)) continue;
+
+            checkAnnotations(field);
+            getters.put(name, new Accessor(field, field.asType(), null));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            if (isStatic(method) || !method.getParameters().isEmpty()) continue;
+            if (!isVisible(method, method.getModifiers().contains(Modifier.PUBLIC))) continue;
+
+            String implicitName = getterNameOf(method);
+            if (implicitName == null) continue;
+
+            String name = nameOf(method, implicitName);
+            if (name == null || ignoredNames.contains(name) || isIgnoredField(type, implicitName)) continue;
+
+            checkAnnotations(method);
+            getters.put(name, new Accessor(method, method.getReturnType(), null));
+        }
+
+        return getters;
+    }
+
+    private Map<String, Accessor> findSetters(TypeElement type, Set<String> ignoredNames) throws ProcessingException {
+        Map<String, Accessor> setters = new LinkedHashMap<>();
+        List<? extends Element> members = elements.getAllMembers(type);
+
+        for (VariableElement field : ElementFilter.fieldsIn(members)) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (isStatic(field) || modifiers.contains(Modifier.FINAL)) continue;
+            if (!isVisible(field, modifiers.contains(Modifier.PUBLIC))) continue;
+
+            String name = nameOf(field, field.getSimpleName().toString());
+            if (name == null || ignoredNames.contains(name)) continue;
+
+            checkAnnotations(field);
+            setters.put(name, new Accessor(field, field.asType(), "%s." + field.getSimpleName() + " = %s"));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(members)) {
+            if (isStatic(method) || method.getParameters().size() != 1) continue;
+            if (!isVisible(method, method.getModifiers().contains(Modifier.PUBLIC))) continue;
+
+            String methodName = method.getSimpleName().toString();
+            String implicitName = methodName.startsWith("set") ? mangle(methodName.substring(3)) : null;
+
+            String name = nameOf(method, implicitName);
+            if (name == null || ignoredNames.contains(name) || isIgnoredField(type, implicitName)) continue;
+
+            checkAnnotations(method);
+            setters.put(name, new Accessor(method, method.getParameters().get(0).asType(), "%s." + methodName + "(%s)"));
+        }
+
+        return setters;
+    }
+
+    private ExecutableElement findCreator(TypeElement type) throws ProcessingException {
+        ExecutableElement creator = null;
+        boolean hasDefaultConstructor = false;
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)) continue;
+
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            if (parameters.isEmpty()) {
+                hasDefaultConstructor = true;
+                continue;
+            }
+
+            boolean isCreator = findAnnotation(constructor, JSON_CREATOR) != null;
+            boolean allNamed = true;
+
+            for (VariableElement parameter : parameters) {
+                String name = stringValue(parameter, JSON_PROPERTY);
+                allNamed &= name != null && !name.isEmpty();
+            }
+
+            if (isCreator && !allNamed) {
+                throw new ProcessingException(
+                        "@GenerateCloner needs all creator parameters to be annotated with @JsonProperty(\"name\")",
+                        constructor
+                );
+            }
+
+            if (isCreator || allNamed) {
+                if (creator != null) {
+                    throw new ProcessingException("@GenerateCloner found more than one property-based creator", constructor);
+                }
+
+                checkAnnotations(constructor);
+                creator = constructor;
+            }
+        }
+
+        if (creator == null && !hasDefaultConstructor) {
+            throw new ProcessingException(
+                    "@GenerateCloner needs a no-args constructor or a constructor with @JsonProperty-annotated parameters",
+                    type
+            );
+        }
+
+        return creator;
+    }
+
+    private ClassModel.Property comparedProperty(String name, Accessor getter) {
+        PropertyKind kind;
+
+        try {
+            kind = kindOf(getter.type, false);
+        } catch (ProcessingException e) {
+            kind = PropertyKind.comparableOnly(name);
+        }
+
+        return new ClassModel.Property(name, getter.access(), kind, getter.type.toString(), isPrimitive(getter.type), -1, null);
+    }
+
+    private ClassModel.Property property(String name, Accessor getter, Accessor target, int creatorIndex, String setter) throws ProcessingException {
+        if (!types.isAssignable(getter.type, target.type)) {
+            throw new ProcessingException(
+                    "@GenerateCloner cannot copy property '" + name + "' of type " + getter.type + " into " + target.type,
+                    getter.element
+            );
+        }
+
+        PropertyKind kind;
+
+        try {
+            kind = kindOf(target.type, true);
+        } catch (ProcessingException e) {
+            throw new ProcessingException(e.getMessage() + " (property '" + name + "')", getter.element);
+        }
+
+        return new ClassModel.Property(name, getter.access(), kind, target.type.toString(), isPrimitive(target.type), creatorIndex, setter);
+    }
+
+    private PropertyKind kindOf(TypeMirror type, boolean isTarget) throws ProcessingException {
+        if (type.getKind().isPrimitive()) {
+            return PropertyKind.primitive(type.getKind());
+        }
+
+        if (type.getKind() != TypeKind.DECLARED) {
+            throw new ProcessingException("@GenerateCloner does not support properties of type " + type, null);
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        TypeElement element = (TypeElement) declaredType.asElement();
+        String qualifiedName = element.getQualifiedName().toString();
+
+        if (qualifiedName.equals("java.math.BigDecimal")) {
+            return PropertyKind.decimal();
+        }
+
+        if (element.getKind() == ElementKind.ENUM || VALUE_TYPES.contains(qualifiedName) || qualifiedName.startsWith("java.time.")) {
+            return PropertyKind.value();
+        }
+
+        if (isListType(declaredType, isTarget)) {
+            TypeMirror elementType = declaredType.getTypeArguments().get(0);
+            return PropertyKind.list(kindOf(elementType, isTarget));
+        }
+
+        if (!declaredType.getTypeArguments().isEmpty()) {
+            throw new ProcessingException("@GenerateCloner does not support properties of the generic type " + type, null);
+        }
+
+        if (findAnnotation(element, GENERATE_CLONER) != null) {
+            return PropertyKind.generated(qualifiedClonerNameOf(element));
+        }
+
+        return PropertyKind.runtime(types.erasure(type).toString());
+    }
+
+    /**
+     * Clone targets must be assignable from {@link java.util.ArrayList}, compared values may be any collection
+     */
+    private boolean isListType(DeclaredType type, boolean isTarget) {
+        if (type.getTypeArguments().size() != 1) return false;
+
+        TypeElement element = (TypeElement) type.asElement();
+
+        if (isTarget) {
+            return LIST_TYPES.contains(element.getQualifiedName().toString());
+        }
+
+        TypeElement collection = elements.getTypeElement("java.util.Collection");
+        return types.isAssignable(types.erasure(type), types.erasure(collection.asType()));
+    }
+
+    private boolean isIgnoredField(TypeElement type, String implicitName) {
+        if (implicitName == null) return false;
+
+        for (VariableElement field : ElementFilter.fieldsIn(elements.getAllMembers(type))) {
+            if (field.getSimpleName().contentEquals(implicitName) && findAnnotation(field, JSON_IGNORE) != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the explicit or implicit property name or null if the member is ignored or no property
+     */
+    private String nameOf(Element member, String implicitName) {
+        if (findAnnotation(member, JSON_IGNORE) != null) return null;
+
+        String explicitName = stringValue(member, JSON_PROPERTY);
+        if (explicitName != null && !explicitName.isEmpty()) return explicitName;
+
+        return implicitName;
+    }
+
+    private String getterNameOf(ExecutableElement method) {
+        String methodName = method.getSimpleName().toString();
+        TypeMirror returnType = method.getReturnType();
+
+        if (returnType.getKind() == TypeKind.VOID) return null;
+        if (methodName.equals("getClass")) return null;
+
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return mangle(methodName.substring(3));
+        }
+
+        if (methodName.startsWith("is") && methodName.length() > 2 && returnType.getKind() == TypeKind.BOOLEAN) {
+            return mangle(methodName.substring(2));
+        }
+
+        return findAnnotation(method, JSON_PROPERTY) != null ? methodName : null;
+    }
+
+    /**
+     * Lower-cases the leading upper-case characters like Jackson does by default: "URLValue" becomes "urlvalue"
+     */
+    private static String mangle(String baseName) {
+        if (baseName.isEmpty()) return null;
+
+        StringBuilder name = new StringBuilder(baseName.length());
+        int index = 0;
+
+        while (index < baseName.length() && Character.isUpperCase(baseName.charAt(index))) {
+            name.append(Character.toLowerCase(baseName.charAt(index)));
+            index++;
+        }
+
+        return name.append(baseName, index, baseName.length()).toString();
+    }
+
+    /**
+     * Jackson detects public members and every non-private member annotated with {@code @JsonProperty}
+     */
+    private boolean isVisible(Element member, boolean isPublic) {
+        if (isPublic) return true;
+
+        return !member.getModifiers().contains(Modifier.PRIVATE) && findAnnotation(member, JSON_PROPERTY) != null;
+    }
+
+    private static boolean isStatic(Element member) {
+        return member.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private static boolean isPrimitive(TypeMirror type) {
+        return type.getKind().isPrimitive();
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotationNameOf(annotation).equals(annotationName)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    private static String annotationNameOf(AnnotationMirror annotation) {
+        return ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String stringValue(Element element, String annotationName) {
+        AnnotationMirror annotation = findAnnotation(element, annotationName);
+        if (annotation == null) return null;
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * A getter, setter, field or creator parameter
+     */
+    private static class Accessor {
+        final Element element;
+        final TypeMirror type;
+        final String setterFormat;
+
+        private Accessor(Element element, TypeMirror type, String setterFormat) {
+            this.element = element;
+            this.type = type;
+            this.setterFormat = setterFormat;
+        }
+
+        String access() {
+            String name = element.getSimpleName().toString();
+            return element.getKind() == ElementKind.METHOD ? name + "()" : name;
+        }
+    }
+}
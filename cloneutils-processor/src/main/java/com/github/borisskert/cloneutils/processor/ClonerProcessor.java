@@ -0,0 +1,69 @@
+package com.github.borisskert.cloneutils.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Generates a {@code StaticCloner} for every class annotated with {@code @GenerateCloner}.
+ * The cloner is placed next to the annotated class, so {@code CloneUtils} finds it at runtime.
+ */
+public class ClonerProcessor extends AbstractProcessor {
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ClassModelReader.GENERATE_CLONER);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        ClassModelReader reader = new ClassModelReader(processingEnv);
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                try {
+                    generate(reader, element);
+                } catch (ProcessingException e) {
+                    Element cause = e.getElement() == null ? element : e.getElement();
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), cause);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(ClassModelReader reader, Element element) throws ProcessingException {
+        if (!(element instanceof TypeElement)) {
+            throw new ProcessingException("@GenerateCloner can only be applied to classes", element);
+        }
+
+        TypeElement type = (TypeElement) element;
+        ClassModel model = reader.read(type);
+
+        String clonerName = model.packageName.isEmpty() ? model.clonerName : model.packageName + "." + model.clonerName;
+
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(clonerName, type);
+
+            try (Writer writer = sourceFile.openWriter()) {
+                ClonerWriter.write(model, writer);
+            }
+        } catch (IOException e) {
+            throw new ProcessingException("Cannot write " + clonerName + ": " + e.getMessage(), type);
+        }
+    }
+}
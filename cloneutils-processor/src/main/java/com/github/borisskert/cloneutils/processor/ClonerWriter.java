@@ -0,0 +1,236 @@
+package com.github.borisskert.cloneutils.processor;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the source code of the {@code StaticCloner} for one {@link ClassModel}
+ */
+class ClonerWriter {
+    private final ClassModel model;
+    private final PrintWriter out;
+
+    private ClonerWriter(ClassModel model, Writer writer) {
+        this.model = model;
+        this.out = new PrintWriter(writer);
+    }
+
+    static void write(ClassModel model, Writer writer) {
+        ClonerWriter clonerWriter = new ClonerWriter(model, writer);
+        clonerWriter.writeClass();
+        clonerWriter.out.flush();
+    }
+
+    private void writeClass() {
+        String type = model.className;
+
+        if (!model.packageName.isEmpty()) {
+            out.println("package " + model.packageName + ";");
+            out.println();
+        }
+
+        out.println("/**");
+        out.println(" * Generated by cloneutils-processor for {@link " + type + "}");
+        out.println(" */");
+        out.println("@SuppressWarnings(\"all\")");
+        out.println("public final class " + model.clonerName + " extends com.github.borisskert.cloneutils.StaticCloner<" + type + "> {");
+        out.println("    public static final " + model.clonerName + " INSTANCE = new " + model.clonerName + "();");
+        out.println();
+        out.println("    private " + model.clonerName + "() {");
+        out.println("    }");
+
+        writeDeepClone(type);
+        writeDeepPatch(type);
+        writeDeepPatchFieldsOnly(type);
+        writeDeepEquals(type);
+
+        out.println("}");
+    }
+
+    private void writeDeepClone(String type) {
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + type + " deepClone(" + type + " object) {");
+        out.println("        if (object == null) return null;");
+        out.println();
+
+        for (ClassModel.Property property : model.properties) {
+            out.println("        " + property.type + " " + variableOf(property) + " = "
+                    + property.kind.clone("object." + property.getter, 0) + ";");
+        }
+
+        writeCreation(type);
+    }
+
+    private void writeDeepPatch(String type) {
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + type + " deepPatch(" + type + " origin, " + type + " patch) {");
+        out.println("        if (origin == null) return null;");
+        out.println("        if (patch == null) return deepClone(origin);");
+        out.println();
+
+        for (ClassModel.Property property : model.properties) {
+            out.println("        " + property.type + " " + variableOf(property) + " = "
+                    + property.kind.patch("origin." + property.getter, "patch." + property.getter, 0) + ";");
+        }
+
+        writeCreation(type);
+    }
+
+    /**
+     * Only the listed fields are patched like {@link #writeDeepPatch(String)} does, all other fields are cloned from the origin
+     */
+    private void writeDeepPatchFieldsOnly(String type) {
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + type + " deepPatchFieldsOnly(" + type + " origin, " + type + " patch, String... onlyThisFields) {");
+        out.println("        if (origin == null) return null;");
+        out.println("        if (patch == null) return deepClone(origin);");
+        out.println();
+
+        for (ClassModel.Property property : model.properties) {
+            out.println("        boolean " + flagOf(property) + " = false;");
+        }
+
+        if (!model.properties.isEmpty()) {
+            out.println();
+            out.println("        for (String field : onlyThisFields) {");
+            out.println("            switch (field) {");
+
+            for (ClassModel.Property property : model.properties) {
+                out.println("                case \"" + escape(property.name) + "\":");
+                out.println("                    " + flagOf(property) + " = true;");
+                out.println("                    break;");
+            }
+
+            out.println("            }");
+            out.println("        }");
+        }
+
+        out.println();
+
+        for (ClassModel.Property property : model.properties) {
+            String patched = property.kind.patch("origin." + property.getter, "patch." + property.getter, 0);
+            String cloned = property.kind.clone("origin." + property.getter, 0);
+
+            out.println("        " + property.type + " " + variableOf(property) + " = " + flagOf(property)
+                    + " ? " + patched + " : " + cloned + ";");
+        }
+
+        writeCreation(type);
+    }
+
+    private void writeDeepEquals(String type) {
+        out.println();
+        out.println("    @Override");
+        out.println("    public boolean deepEquals(" + type + " left, " + type + " right) {");
+        out.println("        if (left == right) return true;");
+        out.println("        if (left == null || right == null) return false;");
+        out.println();
+
+        List<ClassModel.Property> properties = model.comparedProperties;
+
+        if (properties.isEmpty()) {
+            out.println("        return true;");
+        } else {
+            out.print("        return ");
+
+            for (int index = 0; index < properties.size(); index++) {
+                ClassModel.Property property = properties.get(index);
+
+                if (index > 0) {
+                    out.println();
+                    out.print("                && ");
+                }
+
+                out.print(property.kind.equal("left." + property.getter, "right." + property.getter, 0));
+            }
+
+            out.println(";");
+        }
+
+        out.println("    }");
+    }
+
+    /**
+     * Creates the target like Jackson does: the creator gets its arguments, missing ones get their defaults,
+     * setters are only called for non-null values
+     */
+    private void writeCreation(String type) {
+        out.println();
+
+        if (model.creatorParameterTypes == null) {
+            out.println("        " + type + " target = new " + type + "();");
+        } else {
+            String[] arguments = new String[model.creatorParameterTypes.size()];
+
+            for (int index = 0; index < arguments.length; index++) {
+                arguments[index] = defaultValueOf(model.creatorParameterTypes.get(index));
+            }
+
+            for (ClassModel.Property property : model.properties) {
+                if (property.creatorIndex >= 0) {
+                    arguments[property.creatorIndex] = variableOf(property);
+                }
+            }
+
+            out.println("        " + type + " target = new " + type + "(" + String.join(", ", arguments) + ");");
+        }
+
+        for (ClassModel.Property property : model.properties) {
+            if (property.creatorIndex >= 0) continue;
+
+            String setter = String.format(property.setter, "target", variableOf(property));
+
+            if (property.primitive) {
+                out.println("        " + setter + ";");
+            } else {
+                out.println("        if (" + variableOf(property) + " != null) " + setter + ";");
+            }
+        }
+
+        out.println();
+        out.println("        return target;");
+        out.println("    }");
+    }
+
+    /**
+     * Property names are not necessarily valid identifiers, so the local variables are numbered
+     */
+    private String variableOf(ClassModel.Property property) {
+        return "property" + model.properties.indexOf(property);
+    }
+
+    private String flagOf(ClassModel.Property property) {
+        return variableOf(property) + "Patched";
+    }
+
+    private static String defaultValueOf(String typeName) {
+        switch (typeName) {
+            case "boolean":
+                return "false";
+            case "char":
+                return "'\\0'";
+            case "byte":
+                return "(byte) 0";
+            case "short":
+                return "(short) 0";
+            case "int":
+                return "0";
+            case "long":
+                return "0L";
+            case "float":
+                return "0F";
+            case "double":
+                return "0D";
+            default:
+                return "(" + typeName + ") null";
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.borisskert.cloneutils.processor;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Reports a class which cannot get a generated cloner, pointing to the element causing it
+ */
+class ProcessingException extends Exception {
+    private final Element element;
+
+    ProcessingException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    Element getElement() {
+        return element;
+    }
+}
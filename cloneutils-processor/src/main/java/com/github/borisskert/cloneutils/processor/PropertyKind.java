@@ -0,0 +1,183 @@
+package com.github.borisskert.cloneutils.processor;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * Describes how a property value is cloned, patched and compared in the generated source code.
+ * Every method uses each of its expressions exactly once, so getter calls are never repeated.
+ */
+abstract class PropertyKind {
+
+    abstract String clone(String expression, int depth);
+
+    abstract String patch(String origin, String patch, int depth);
+
+    abstract String equal(String left, String right, int depth);
+
+    /**
+     * Primitives are never null, that's why Jackson always writes them: a primitive patch value always wins
+     */
+    static PropertyKind primitive(TypeKind kind) {
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                return expression;
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                return patch;
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                if (kind == TypeKind.DOUBLE) return "Double.compare(" + left + ", " + right + ") == 0";
+                if (kind == TypeKind.FLOAT) return "Float.compare(" + left + ", " + right + ") == 0";
+
+                return left + " == " + right;
+            }
+        };
+    }
+
+    /**
+     * Immutable values are shared between origin and clone
+     */
+    static PropertyKind value() {
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                return expression;
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                return "patchValue(" + origin + ", " + patch + ")";
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                return "java.util.Objects.equals(" + left + ", " + right + ")";
+            }
+        };
+    }
+
+    /**
+     * Decimals are immutable values too, but they are compared regardless of their scale, like their JSON values
+     */
+    static PropertyKind decimal() {
+        PropertyKind value = value();
+
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                return value.clone(expression, depth);
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                return value.patch(origin, patch, depth);
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                return "decimalEquals(" + left + ", " + right + ")";
+            }
+        };
+    }
+
+    /**
+     * Values of other classes annotated with {@code @GenerateCloner} use the cloner generated for them
+     */
+    static PropertyKind generated(String clonerName) {
+        String cloner = clonerName + ".INSTANCE";
+
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                return cloner + ".deepClone(" + expression + ")";
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                return "patchNested(" + cloner + ", " + origin + ", " + patch + ")";
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                return cloner + ".deepEquals(" + left + ", " + right + ")";
+            }
+        };
+    }
+
+    /**
+     * All other values are handled by {@code CloneUtils} at runtime
+     */
+    static PropertyKind runtime(String rawTypeName) {
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                return "cloneRuntime(" + expression + ", " + rawTypeName + ".class)";
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                return "patchRuntime(" + origin + ", " + patch + ", " + rawTypeName + ".class)";
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                return "equalsRuntime(" + left + ", " + right + ")";
+            }
+        };
+    }
+
+    /**
+     * Properties which can only be compared, like getters of generic types without a matching setter.
+     * The writer never clones or patches them, asking it to is a bug in the processor.
+     */
+    static PropertyKind comparableOnly(String propertyName) {
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                throw notCopyable();
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                throw notCopyable();
+            }
+
+            private IllegalStateException notCopyable() {
+                return new IllegalStateException("Property '" + propertyName + "' can only be compared, it has no target to be copied into");
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                return "equalsRuntime(" + left + ", " + right + ")";
+            }
+        };
+    }
+
+    static PropertyKind list(PropertyKind element) {
+        return new PropertyKind() {
+            @Override
+            String clone(String expression, int depth) {
+                String e = "e" + depth;
+                return "cloneList(" + expression + ", " + e + " -> " + element.clone(e, depth + 1) + ")";
+            }
+
+            @Override
+            String patch(String origin, String patch, int depth) {
+                String e = "e" + depth;
+                return "appendList(" + origin + ", " + patch + ", " + e + " -> " + element.clone(e, depth + 1) + ")";
+            }
+
+            @Override
+            String equal(String left, String right, int depth) {
+                String l = "l" + depth;
+                String r = "r" + depth;
+                return "listEquals(" + left + ", " + right + ", (" + l + ", " + r + ") -> " + element.equal(l, r, depth + 1) + ")";
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.borisskert.cloneutils.processor;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.borisskert.cloneutils.CloneEngine;
+import com.github.borisskert.cloneutils.CloneUtils;
+import com.github.borisskert.cloneutils.StaticCloner;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+class ClonerProcessorTest {
+
+    /**
+     * Ignoring an unknown property makes CloneUtils use Jackson instead of the generated cloner
+     */
+    private static final String UNKNOWN_PROPERTY = "unknownProperty";
+
+    @Test
+    public void shouldGenerateClonerForAnnotatedClasses() throws Exception {
+        Object cloner = Class.forName("com.github.borisskert.cloneutils.processor.GeneratedTestObject_Cloner")
+                .getField("INSTANCE")
+                .get(null);
+
+        Object innerCloner = Class.forName("com.github.borisskert.cloneutils.processor.GeneratedTestObject_InnerTestObject_Cloner")
+                .getField("INSTANCE")
+                .get(null);
+
+        assertThat(cloner, is(instanceOf(StaticCloner.class)));
+        assertThat(innerCloner, is(instanceOf(StaticCloner.class)));
+    }
+
+    @Test
+    public void shouldCloneLikeJackson() throws Exception {
+        GeneratedTestObject object = createObject("my string", 1234, "my inner string");
+
+        GeneratedTestObject cloned = GeneratedTestObject_Cloner.INSTANCE.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(cloned, is(equalTo(CloneUtils.deepClone(object, UNKNOWN_PROPERTY))));
+        assertThat(cloned.getInnerTestObjectProperty(), is(not(sameInstance(object.getInnerTestObjectProperty()))));
+        assertThat(cloned.getInnerTestObjectList().get(0), is(not(sameInstance(object.getInnerTestObjectList().get(0)))));
+        assertThat(cloned.getStringList(), is(not(sameInstance(object.getStringList()))));
+    }
+
+    @Test
+    public void shouldBeUsedByCloneUtils() throws Exception {
+        GeneratedTestObject object = createObject("my string", 1234, "my inner string");
+
+        GeneratedTestObject cloned = CloneUtils.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(cloned.getInnerTestObjectProperty(), is(not(sameInstance(object.getInnerTestObjectProperty()))));
+    }
+
+    @Test
+    public void shouldNotBeUsedByEnginesWithModules() throws Exception {
+        SimpleModule module = new SimpleModule();
+        module.setMixInAnnotation(GeneratedTestObject.InnerTestObject.class, IgnoringStringProperty.class);
+
+        CloneEngine engine = CloneEngine.builder()
+                .registerModule(module)
+                .build();
+
+        GeneratedTestObject object = createObject("my string", 1234, "my inner string");
+
+        GeneratedTestObject cloned = engine.deepClone(object);
+
+        assertThat(cloned.getStringProperty(), is(equalTo("my string")));
+        assertThat(cloned.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getDoubleProperty(), is(equalTo(52.72)));
+        assertThat(engine.deepEquals(object, createObject("my string", 1234, "my other inner string")), is(true));
+        assertThat(CloneUtils.deepClone(object).getInnerTestObjectProperty().getStringProperty(), is(equalTo("my inner string")));
+    }
+
+    @Test
+    public void shouldPatchLikeJackson() throws Exception {
+        GeneratedTestObject origin = createObject("my string", 1234, "my inner string");
+        GeneratedTestObject patch = createObject(null, 4321, null);
+
+        GeneratedTestObject patched = GeneratedTestObject_Cloner.INSTANCE.deepPatch(origin, patch);
+
+        assertThat(patched, is(equalTo(CloneUtils.deepPatch(origin, patch, UNKNOWN_PROPERTY))));
+        assertThat(patched.getStringProperty(), is(equalTo("my string")));
+        assertThat(patched.getIntegerProperty(), is(equalTo(4321)));
+        assertThat(patched.getInnerTestObjectProperty().getStringProperty(), is(equalTo("my inner string")));
+        assertThat(patched.getStringList(), contains("my list string", "my list string"));
+    }
+
+    @Test
+    public void shouldPatchOnlySpecifiedFields() throws Exception {
+        GeneratedTestObject origin = createObject("my string", 1234, "my inner string");
+        GeneratedTestObject patch = createObject("my other string", 4321, "my other inner string");
+
+        GeneratedTestObject patched = CloneUtils.deepPatchFieldsOnly(origin, patch, "integerProperty", "innerTestObjectProperty");
+
+        assertThat(patched.getStringProperty(), is(equalTo("my string")));
+        assertThat(patched.getIntegerProperty(), is(equalTo(4321)));
+        assertThat(patched.getInnerTestObjectProperty().getStringProperty(), is(equalTo("my other inner string")));
+        assertThat(patched.getStringList(), contains("my list string"));
+    }
+
+    @Test
+    public void shouldCompareLikeJackson() throws Exception {
+        GeneratedTestObject object = createObject("my string", 1234, "my inner string");
+        GeneratedTestObject equalObject = createObject("my string", 1234, "my inner string");
+        GeneratedTestObject otherObject = createObject("my string", 1234, "my other inner string");
+
+        assertThat(GeneratedTestObject_Cloner.INSTANCE.deepEquals(object, equalObject), is(true));
+        assertThat(GeneratedTestObject_Cloner.INSTANCE.deepEquals(object, otherObject), is(false));
+        assertThat(CloneUtils.deepEquals(object, otherObject, UNKNOWN_PROPERTY), is(false));
+        assertThat(CloneUtils.deepEquals(object, otherObject, "innerTestObjectProperty.stringProperty"), is(true));
+    }
+
+    @Test
+    public void shouldCompareDecimalsRegardlessOfTheirScale() throws Exception {
+        GeneratedTestObject.InnerTestObject object = new GeneratedTestObject.InnerTestObject();
+        object.setDecimalProperty(new BigDecimal("1.0"));
+
+        GeneratedTestObject.InnerTestObject rescaledObject = new GeneratedTestObject.InnerTestObject();
+        rescaledObject.setDecimalProperty(new BigDecimal("1.00"));
+
+        GeneratedTestObject.InnerTestObject otherObject = new GeneratedTestObject.InnerTestObject();
+        otherObject.setDecimalProperty(new BigDecimal("1.01"));
+
+        assertThat(GeneratedTestObject_InnerTestObject_Cloner.INSTANCE.deepEquals(object, rescaledObject), is(true));
+        assertThat(GeneratedTestObject_InnerTestObject_Cloner.INSTANCE.deepEquals(object, otherObject), is(false));
+        assertThat(CloneUtils.deepEquals(object, rescaledObject, UNKNOWN_PROPERTY), is(true));
+    }
+
+    private static GeneratedTestObject createObject(String stringProperty, Integer integerProperty, String innerStringProperty) {
+        GeneratedTestObject.InnerTestObject inner = new GeneratedTestObject.InnerTestObject();
+        inner.setStringProperty(innerStringProperty);
+        inner.setDoubleProperty(52.72);
+        inner.setBooleanProperty(true);
+
+        GeneratedTestObject.InnerTestObject listElement = new GeneratedTestObject.InnerTestObject();
+        listElement.setStringProperty("my list element");
+
+        return new GeneratedTestObject(
+                stringProperty,
+                integerProperty,
+                42,
+                null,
+                GeneratedTestObject.TestEnum.SECOND,
+                inner,
+                new ArrayList<>(Collections.singletonList(listElement)),
+                new ArrayList<>(Arrays.asList("my list string"))
+        );
+    }
+
+    @JsonIgnoreProperties("stringProperty")
+    private abstract static class IgnoringStringProperty {
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.borisskert.cloneutils.processor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.borisskert.cloneutils.GenerateCloner;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+@GenerateCloner
+public class GeneratedTestObject {
+    private final String stringProperty;
+    private final Integer integerProperty;
+    private final int intProperty;
+    private final LocalDate localDateProperty;
+    private final TestEnum enumProperty;
+    private final InnerTestObject innerTestObjectProperty;
+    private final List<InnerTestObject> innerTestObjectList;
+    private final List<String> stringList;
+
+    public GeneratedTestObject(
+            @JsonProperty("stringProperty") String stringProperty,
+            @JsonProperty("integerProperty") Integer integerProperty,
+            @JsonProperty("intProperty") int intProperty,
+            @JsonProperty("localDateProperty") LocalDate localDateProperty,
+            @JsonProperty("enumProperty") TestEnum enumProperty,
+            @JsonProperty("innerTestObjectProperty") InnerTestObject innerTestObjectProperty,
+            @JsonProperty("innerTestObjectList") List<InnerTestObject> innerTestObjectList,
+            @JsonProperty("stringList") List<String> stringList
+    ) {
+        this.stringProperty = stringProperty;
+        this.integerProperty = integerProperty;
+        this.intProperty = intProperty;
+        this.localDateProperty = localDateProperty;
+        this.enumProperty = enumProperty;
+        this.innerTestObjectProperty = innerTestObjectProperty;
+        this.innerTestObjectList = innerTestObjectList;
+        this.stringList = stringList;
+    }
+
+    public String getStringProperty() {
+        return stringProperty;
+    }
+
+    public Integer getIntegerProperty() {
+        return integerProperty;
+    }
+
+    public int getIntProperty() {
+        return intProperty;
+    }
+
+    public LocalDate getLocalDateProperty() {
+        return localDateProperty;
+    }
+
+    public TestEnum getEnumProperty() {
+        return enumProperty;
+    }
+
+    public InnerTestObject getInnerTestObjectProperty() {
+        return innerTestObjectProperty;
+    }
+
+    public List<InnerTestObject> getInnerTestObjectList() {
+        return innerTestObjectList;
+    }
+
+    public List<String> getStringList() {
+        return stringList;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GeneratedTestObject that = (GeneratedTestObject) o;
+        return intProperty == that.intProperty &&
+                Objects.equals(stringProperty, that.stringProperty) &&
+                Objects.equals(integerProperty, that.integerProperty) &&
+                Objects.equals(localDateProperty, that.localDateProperty) &&
+                enumProperty == that.enumProperty &&
+                Objects.equals(innerTestObjectProperty, that.innerTestObjectProperty) &&
+                Objects.equals(innerTestObjectList, that.innerTestObjectList) &&
+                Objects.equals(stringList, that.stringList);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stringProperty, integerProperty, intProperty, localDateProperty, enumProperty, innerTestObjectProperty, innerTestObjectList, stringList);
+    }
+
+    public enum TestEnum {
+        FIRST,
+        SECOND
+    }
+
+    @GenerateCloner
+    public static class InnerTestObject {
+        private String stringProperty;
+        private Double doubleProperty;
+        private boolean booleanProperty;
+        private BigDecimal decimalProperty;
+
+        public String getStringProperty() {
+            return stringProperty;
+        }
+
+        public void setStringProperty(String stringProperty) {
+            this.stringProperty = stringProperty;
+        }
+
+        public Double getDoubleProperty() {
+            return doubleProperty;
+        }
+
+        public void setDoubleProperty(Double doubleProperty) {
+            this.doubleProperty = doubleProperty;
+        }
+
+        public boolean isBooleanProperty() {
+            return booleanProperty;
+        }
+
+        public void setBooleanProperty(boolean booleanProperty) {
+            this.booleanProperty = booleanProperty;
+        }
+
+        public BigDecimal getDecimalProperty() {
+            return decimalProperty;
+        }
+
+        public void setDecimalProperty(BigDecimal decimalProperty) {
+            this.decimalProperty = decimalProperty;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            InnerTestObject that = (InnerTestObject) o;
+            return booleanProperty == that.booleanProperty &&
+                    Objects.equals(stringProperty, that.stringProperty) &&
+                    Objects.equals(doubleProperty, that.doubleProperty) &&
+                    Objects.equals(decimalProperty, that.decimalProperty);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stringProperty, doubleProperty, booleanProperty, decimalProperty);
+        }
+    }
+}
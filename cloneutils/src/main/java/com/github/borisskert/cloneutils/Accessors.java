@@ -0,0 +1,261 @@
+package com.github.borisskert.cloneutils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Binds getters, setters and constructors to functional interfaces.
+ * Accessible methods of classes this library's class loader sees are bound via {@link LambdaMetafactory}
+ * which lets the JIT inline them like hand-written code, all other members are accessed via (access-checked suppressed)
+ * method handles.
+ */
+final class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Prevent instance creation
+     */
+    private Accessors() {
+        throw new IllegalStateException();
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Method method) {
+        if (isBindable(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle,
+                        handle.type().wrap()
+                );
+
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable ignored) {
+                // fall back to a plain method handle
+            }
+        }
+
+        MethodHandle handle = unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return (Object) handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Method method) {
+        if (isBindable(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "accept",
+                        MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0]))
+                );
+
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            } catch (Throwable ignored) {
+                // fall back to a plain method handle
+            }
+        }
+
+        MethodHandle handle = unreflect(method).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return setter(handle);
+    }
+
+    static Function<Object, Object> getter(Field field) {
+        MethodHandle handle;
+
+        try {
+            field.setAccessible(true);
+            handle = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+
+        return bean -> {
+            try {
+                return (Object) handle.invokeExact(bean);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    static BiConsumer<Object, Object> setter(Field field) {
+        MethodHandle handle;
+
+        try {
+            field.setAccessible(true);
+            handle = LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+
+        return setter(handle);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Supplier<Object> constructor(Constructor<?> constructor) {
+        if (isBindable(constructor)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+                CallSite site = LambdaMetafactory.metafactory(
+                        LOOKUP,
+                        "get",
+                        MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class),
+                        handle,
+                        handle.type()
+                );
+
+                return (Supplier<Object>) site.getTarget().invokeExact();
+            } catch (Throwable ignored) {
+                // fall back to a plain method handle
+            }
+        }
+
+        MethodHandle handle = unreflect(constructor).asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (Object) handle.invokeExact();
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    /**
+     * @param creator a constructor or static factory method
+     * @return a function which calls the creator with the specified argument array
+     */
+    static Function<Object[], Object> creator(Executable creator) {
+        MethodHandle handle = unreflect(creator)
+                .asSpreader(Object[].class, creator.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        return arguments -> {
+            try {
+                return (Object) handle.invokeExact(arguments);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0.0f;
+        if (type == double.class) return 0.0d;
+
+        return null;
+    }
+
+    static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static boolean isBindable(Executable executable) {
+        if (!Modifier.isPublic(executable.getModifiers())) return false;
+
+        Class<?> type = executable.getDeclaringClass();
+        return (isPublic(type) || isSamePackage(type)) && isResolvable(executable);
+    }
+
+    /**
+     * The bound lambda refers to the member's types by their names, which are resolved by this library's class loader:
+     * a class of another loader would be mixed up with a class of the same name, or would not be found at all.
+     */
+    private static boolean isResolvable(Executable executable) {
+        if (!BeanCloners.isVisible(executable.getDeclaringClass(), Accessors.class)) return false;
+
+        for (Class<?> parameterType : executable.getParameterTypes()) {
+            if (!BeanCloners.isVisible(parameterType, Accessors.class)) return false;
+        }
+
+        return !(executable instanceof Method) || BeanCloners.isVisible(((Method) executable).getReturnType(), Accessors.class);
+    }
+
+    private static boolean isPublic(Class<?> type) {
+        for (Class<?> current = type; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isSamePackage(Class<?> type) {
+        Class<?> self = Accessors.class;
+
+        return type.getClassLoader() == self.getClassLoader()
+                && Objects.equals(packageOf(type), packageOf(self));
+    }
+
+    private static String packageOf(Class<?> type) {
+        String name = type.getName();
+        int lastDot = name.lastIndexOf('.');
+
+        return lastDot < 0 ? "" : name.substring(0, lastDot);
+    }
+
+    private static MethodHandle unreflect(Executable executable) {
+        try {
+            executable.setAccessible(true);
+
+            if (executable instanceof Constructor) {
+                return LOOKUP.unreflectConstructor((Constructor<?>) executable);
+            }
+
+            return LOOKUP.unreflect((Method) executable);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private static BiConsumer<Object, Object> setter(MethodHandle handle) {
+        return (bean, value) -> {
+            try {
+                handle.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        };
+    }
+
+    private static RuntimeException rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) return (RuntimeException) throwable;
+        if (throwable instanceof Error) throw (Error) throwable;
+
+        return new CloneException(throwable);
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import com.github.borisskert.cloneutils.spi.CloneContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The backend of one source/target class pair, chosen by {@link CloneBackendSelection}.
+ * <p>
+ * Until it's decided, the decision acts as backend itself: it clones the values of its class pair by its eligible
+ * candidates in turns and measures them. The first round warms the candidates up (like their caches) and isn't
+ * counted. After the specified number of samples per candidate the fastest one is promoted. The timings include
+ * the nested values, they are the same for all candidates apart from the nested values' own sampling.
+ */
+class AdaptiveDecision implements CloneBackend {
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+    private final List<CloneBackend> candidates;
+    private final int samples;
+    private final boolean pinned;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final AtomicLongArray nanos;
+    private final AtomicLongArray counts;
+
+    /**
+     * The candidates which passed the eligibility rules, set by the first invocation
+     */
+    private volatile List<CloneBackend> eligibleCandidates;
+
+    private volatile CloneBackend decided;
+
+    AdaptiveDecision(Class<?> sourceClass, Class<?> targetClass, List<CloneBackend> candidates, int samples) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.candidates = candidates;
+        this.samples = samples;
+        this.pinned = false;
+        this.nanos = new AtomicLongArray(candidates.size());
+        this.counts = new AtomicLongArray(candidates.size());
+    }
+
+    private AdaptiveDecision(Class<?> sourceClass, Class<?> targetClass, CloneBackend pinnedBackend) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.candidates = Collections.singletonList(pinnedBackend);
+        this.samples = 0;
+        this.pinned = true;
+        this.nanos = new AtomicLongArray(1);
+        this.counts = new AtomicLongArray(1);
+        this.eligibleCandidates = candidates;
+        this.decided = pinnedBackend;
+    }
+
+    static AdaptiveDecision pinned(Class<?> sourceClass, Class<?> targetClass, CloneBackend backend) {
+        return new AdaptiveDecision(sourceClass, targetClass, backend);
+    }
+
+    Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return the decided backend or this decision as long as it samples
+     */
+    CloneBackend backend() {
+        CloneBackend backend = decided;
+        return backend == null ? this : backend;
+    }
+
+    @Override
+    public String getName() {
+        return "adaptive";
+    }
+
+    @Override
+    public Object cloneValue(Object value, JavaType targetType, CloneContext context) throws CloneException {
+        CloneBackend backend = decided;
+
+        // referred by a caller which looked it up while it was sampling, like a batch
+        if (backend != null) return backend.cloneValue(value, targetType, context);
+
+        List<CloneBackend> eligible = eligibleCandidates(value.getClass(), targetType, context);
+        int invocation = invocations.getAndIncrement();
+        int index = candidates.indexOf(eligible.get(invocation % eligible.size()));
+
+        long start = System.nanoTime();
+        Object clone = candidates.get(index).cloneValue(value, targetType, context);
+        long elapsed = System.nanoTime() - start;
+
+        if (invocation >= eligible.size()) {
+            nanos.addAndGet(index, elapsed);
+            counts.incrementAndGet(index);
+        }
+
+        if (invocation + 1 >= (samples + 1) * eligible.size()) {
+            decide(eligible);
+        }
+
+        return clone;
+    }
+
+    BackendDecision toSnapshot() {
+        Map<String, Long> averageNanos = new LinkedHashMap<>();
+
+        for (int index = 0; index < candidates.size(); index++) {
+            long count = counts.get(index);
+            if (count > 0) averageNanos.put(candidates.get(index).getName(), nanos.get(index) / count);
+        }
+
+        return new BackendDecision(sourceClass, targetClass, decided, pinned, averageNanos);
+    }
+
+    private List<CloneBackend> eligibleCandidates(Class<?> valueClass, JavaType targetType, CloneContext context) {
+        List<CloneBackend> eligible = eligibleCandidates;
+        if (eligible != null) return eligible;
+
+        BackendContext backendContext = BackendContext.of(context);
+        eligible = new ArrayList<>();
+
+        for (CloneBackend candidate : candidates) {
+            if (backendContext.isEligible(candidate, valueClass, targetType)) eligible.add(candidate);
+        }
+
+        if (eligible.isEmpty()) {
+            eligible.addAll(candidates);
+        }
+
+        // without samples the first eligible candidate wins: the candidates are listed by their expected speed
+        if (eligible.size() == 1 || samples == 0) {
+            decided = eligible.get(0);
+        }
+
+        eligibleCandidates = eligible;
+        return eligible;
+    }
+
+    private synchronized void decide(List<CloneBackend> eligible) {
+        if (decided != null) return;
+
+        CloneBackend fastest = null;
+        double fastestNanos = Double.MAX_VALUE;
+
+        for (CloneBackend candidate : eligible) {
+            int index = candidates.indexOf(candidate);
+            long count = counts.get(index);
+            if (count == 0) continue;
+
+            double averageNanos = (double) nanos.get(index) / count;
+
+            if (averageNanos < fastestNanos) {
+                fastest = candidate;
+                fastestNanos = averageNanos;
+            }
+        }
+
+        decided = fastest == null ? eligible.get(0) : fastest;
+    }
+}
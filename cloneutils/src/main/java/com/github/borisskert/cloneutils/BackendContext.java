@@ -0,0 +1,61 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import com.github.borisskert.cloneutils.spi.CloneContext;
+
+import java.lang.reflect.Type;
+
+/**
+ * The {@link CloneContext} of a value cloned by {@link BeanCloners}: the ignored properties at its position
+ */
+class BackendContext implements CloneContext {
+    private final BeanCloners cloners;
+    private final IgnoredProperties ignoredProperties;
+
+    BackendContext(BeanCloners cloners, IgnoredProperties ignoredProperties) {
+        this.cloners = cloners;
+        this.ignoredProperties = ignoredProperties;
+    }
+
+    static BackendContext of(CloneContext context) {
+        if (!(context instanceof BackendContext)) {
+            throw new IllegalArgumentException("Unknown context, contexts are created by the engine only: " + context);
+        }
+
+        return (BackendContext) context;
+    }
+
+    Object cloneValue(Object value, JavaType targetType, BuiltInBackend backend) throws CloneException {
+        return cloners.cloneValue(value, targetType, ignoredProperties, backend);
+    }
+
+    boolean isEligible(CloneBackend backend, Class<?> sourceClass, JavaType targetType) {
+        return cloners.isEligible(backend, sourceClass, targetType);
+    }
+
+    @Override
+    public boolean isIgnored(String propertyName) {
+        return ignoredProperties.isIgnored(propertyName);
+    }
+
+    @Override
+    public Object cloneProperty(String propertyName, Object value, JavaType targetType) throws CloneException {
+        return cloners.cloneValue(value, targetType, ignoredProperties.child(propertyName));
+    }
+
+    @Override
+    public Object cloneElement(Object element, JavaType targetType) throws CloneException {
+        return cloners.cloneValue(element, targetType, ignoredProperties);
+    }
+
+    @Override
+    public boolean isImmutable(Class<?> type) {
+        return cloners.isImmutable(type);
+    }
+
+    @Override
+    public JavaType constructType(Type type) {
+        return cloners.constructType(type);
+    }
+}
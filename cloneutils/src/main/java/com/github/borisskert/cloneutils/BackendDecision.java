@@ -0,0 +1,58 @@
+package com.github.borisskert.cloneutils;
+
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The backend an adaptive engine chose for a source/target class pair, see {@link CloneEngine#getBackendDecisions()}.
+ * Pin it by {@link CloneEngine#pinBackend(Class, Class, CloneBackend)}, like in the next run of the application.
+ */
+public final class BackendDecision {
+    private final Class<?> sourceClass;
+    private final Class<?> targetClass;
+    private final CloneBackend backend;
+    private final boolean pinned;
+    private final Map<String, Long> averageNanos;
+
+    BackendDecision(Class<?> sourceClass, Class<?> targetClass, CloneBackend backend, boolean pinned, Map<String, Long> averageNanos) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.backend = backend;
+        this.pinned = pinned;
+        this.averageNanos = Collections.unmodifiableMap(averageNanos);
+    }
+
+    public Class<?> getSourceClass() {
+        return sourceClass;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return the chosen backend or null if the engine still samples the candidates
+     */
+    public CloneBackend getBackend() {
+        return backend;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    /**
+     * @return the measured nanoseconds per value by the names of the sampled candidates, empty if pinned
+     */
+    public Map<String, Long> getAverageNanos() {
+        return averageNanos;
+    }
+
+    @Override
+    public String toString() {
+        return sourceClass.getName() + " -> " + targetClass.getName() + ": "
+                + (backend == null ? "sampling" : backend.getName()) + (pinned ? " (pinned)" : "") + " " + averageNanos;
+    }
+}
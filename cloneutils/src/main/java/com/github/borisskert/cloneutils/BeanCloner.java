@@ -0,0 +1,176 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Clones one source class into one target class by copying the bean properties directly through pre-bound accessors.
+ * Instances are created by {@link BeanCloners} which makes sure the copy matches what Jackson would do.
+ */
+class BeanCloner {
+    private final Supplier<Object> defaultCreator;
+    private final Function<Object[], Object> argumentsCreator;
+    private final Object[] creatorDefaults;
+    private final Property[] properties;
+
+    private BeanCloner(
+            Supplier<Object> defaultCreator,
+            Function<Object[], Object> argumentsCreator,
+            Object[] creatorDefaults,
+            Property[] properties
+    ) {
+        this.defaultCreator = defaultCreator;
+        this.argumentsCreator = argumentsCreator;
+        this.creatorDefaults = creatorDefaults;
+        this.properties = properties;
+    }
+
+    static BeanCloner usingDefaultCreator(Supplier<Object> creator, Property[] properties) {
+        return new BeanCloner(creator, null, null, properties);
+    }
+
+    static BeanCloner usingArgumentsCreator(Function<Object[], Object> creator, Object[] creatorDefaults, Property[] properties) {
+        return new BeanCloner(null, creator, creatorDefaults, properties);
+    }
+
+    /**
+     * @return true if the target is created by its default creator, so all properties are set by setters
+     */
+    boolean usesDefaultCreator() {
+        return argumentsCreator == null;
+    }
+
+    Property[] properties() {
+        return properties;
+    }
+
+    Object clone(Object source, IgnoredProperties ignoredProperties, ValueCloner cloner) {
+        return clone(source, ignoredProperties, cloner, null);
+    }
+
+    /**
+     * @param created notified about the target before its properties are cloned if it's created by its default creator,
+     *                so the nested values may refer to it (may be null)
+     */
+    Object clone(Object source, IgnoredProperties ignoredProperties, ValueCloner cloner, Consumer<Object> created) {
+        if (argumentsCreator == null) {
+            return cloneUsingDefaultCreator(source, ignoredProperties, cloner, created);
+        }
+
+        Object[] arguments = creatorDefaults.clone();
+        Object[] values = new Object[properties.length];
+
+        for (int index = 0; index < properties.length; index++) {
+            Property property = properties[index];
+
+            if (ignoredProperties.isIgnored(property.name)) continue;
+
+            Object value = property.getter.apply(source);
+            if (value == null) continue;
+
+            Object clonedValue = cloner.cloneValue(value, property.targetType, ignoredProperties.child(property.name));
+
+            if (property.creatorIndex < 0) {
+                values[index] = clonedValue;
+            } else {
+                arguments[property.creatorIndex] = clonedValue;
+            }
+        }
+
+        Object target = argumentsCreator.apply(arguments);
+
+        for (int index = 0; index < properties.length; index++) {
+            if (values[index] != null) {
+                properties[index].setter.accept(target, values[index]);
+            }
+        }
+
+        return target;
+    }
+
+    private Object cloneUsingDefaultCreator(Object source, IgnoredProperties ignoredProperties, ValueCloner cloner, Consumer<Object> created) {
+        Object target = defaultCreator.get();
+        if (created != null) created.accept(target);
+
+        for (Property property : properties) {
+            if (ignoredProperties.isIgnored(property.name)) continue;
+
+            Object value = property.getter.apply(source);
+            if (value == null) continue;
+
+            property.setter.accept(target, cloner.cloneValue(value, property.targetType, ignoredProperties.child(property.name)));
+        }
+
+        return target;
+    }
+
+    /**
+     * Creates a target of prepared values instead of cloning a source
+     *
+     * @param values the values by the index of their {@link #properties()}, null values are left out
+     */
+    Object create(Object[] values) {
+        if (argumentsCreator == null) {
+            Object target = defaultCreator.get();
+            setProperties(target, values);
+
+            return target;
+        }
+
+        Object[] arguments = creatorDefaults.clone();
+
+        for (int index = 0; index < properties.length; index++) {
+            int creatorIndex = properties[index].creatorIndex;
+
+            if (creatorIndex >= 0 && values[index] != null) {
+                arguments[creatorIndex] = values[index];
+            }
+        }
+
+        Object target = argumentsCreator.apply(arguments);
+        setProperties(target, values);
+
+        return target;
+    }
+
+    private void setProperties(Object target, Object[] values) {
+        for (int index = 0; index < properties.length; index++) {
+            Property property = properties[index];
+
+            if (property.setter != null && values[index] != null) {
+                property.setter.accept(target, values[index]);
+            }
+        }
+    }
+
+    /**
+     * A source property mapped onto either a creator argument or a setter of the target
+     */
+    static class Property {
+        final String name;
+        final Function<Object, Object> getter;
+        final JavaType targetType;
+        final int creatorIndex;
+        final BiConsumer<Object, Object> setter;
+
+        private Property(String name, Function<Object, Object> getter, JavaType targetType, int creatorIndex, BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.getter = getter;
+            this.targetType = targetType;
+            this.creatorIndex = creatorIndex;
+            this.setter = setter;
+        }
+
+        static Property toCreatorArgument(String name, Function<Object, Object> getter, JavaType targetType, int creatorIndex) {
+            return new Property(name, getter, targetType, creatorIndex, null);
+        }
+
+        static Property toSetter(String name, Function<Object, Object> getter, JavaType targetType, BiConsumer<Object, Object> setter) {
+            return new Property(name, getter, targetType, -1, setter);
+        }
+    }
+}
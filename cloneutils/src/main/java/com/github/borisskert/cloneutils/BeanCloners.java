@@ -0,0 +1,673 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonMerge;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.std.StdValueInstantiator;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.util.Annotations;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Creates and caches one {@link BeanCloner} per source/target class pair.
+ * A class pair is only cloned directly if Jackson would handle it as plain bean on both sides,
+ * all other values are cloned by the {@link TokenCloner}.
+ * <p>
+ * The cloners are cached by {@link ClassValue} on the source class (or on the target class) and only if
+ * everything a cloner refers to is visible from that class's class loader. That way the cache never keeps
+ * a class loader alive which could otherwise be collected, like the one of a redeployed webapp.
+ * <p>
+ * Each value is cloned by the {@link CloneBackend} selected for its classes: the built-in backends are
+ * handled right here, other backends are called with a {@link BackendContext}.
+ */
+class BeanCloners implements ValueCloner {
+    private static final List<Class<? extends Annotation>> UNSUPPORTED_ANNOTATIONS = Arrays.asList(
+            JsonBackReference.class,
+            JsonDeserialize.class,
+            JsonFilter.class,
+            JsonFormat.class,
+            JsonIdentityInfo.class,
+            JsonIdentityReference.class,
+            JsonInclude.class,
+            JsonManagedReference.class,
+            JsonMerge.class,
+            JsonRawValue.class,
+            JsonSerialize.class,
+            JsonSetter.class,
+            JsonTypeInfo.class,
+            JsonUnwrapped.class,
+            JsonView.class
+    );
+
+    /**
+     * Smaller lists are not worth to be split, even if their elements are expensive to clone
+     */
+    private static final int MIN_PARALLEL_LIST_SIZE = 64;
+
+    private final ObjectMapper writingMapper;
+    private final ObjectMapper readingMapper;
+    private final TokenCloner fallback;
+    private final ImmutableTypes immutableTypes;
+    private final ClassValue<ConcurrentMap<Key, Optional<BeanCloner>>> cloners;
+    private final ClassValue<Map<String, Function<Object, Object>>> getters;
+    private final CloneBackendSelection backends;
+
+    /**
+     * False if the engine maps differently than the default engine, which is used by the generated cloners
+     */
+    private final boolean staticClonersUsable;
+
+    /**
+     * The pool cloning large lists in parallel or null to clone everything on the calling thread
+     */
+    private final ForkJoinPool pool;
+
+    BeanCloners(ObjectMapper writingMapper, ObjectMapper readingMapper, TokenCloner fallback, ImmutableTypes immutableTypes, CloneBackendSelection backends,
+                boolean staticClonersUsable) {
+        this.writingMapper = writingMapper;
+        this.readingMapper = readingMapper;
+        this.fallback = fallback;
+        this.immutableTypes = immutableTypes;
+        this.backends = backends;
+        this.staticClonersUsable = staticClonersUsable;
+        this.pool = null;
+
+        this.cloners = new ClassValue<ConcurrentMap<Key, Optional<BeanCloner>>>() {
+            @Override
+            protected ConcurrentMap<Key, Optional<BeanCloner>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+        this.getters = new ClassValue<Map<String, Function<Object, Object>>>() {
+            @Override
+            protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+                return createGetters(type);
+            }
+        };
+    }
+
+    private BeanCloners(BeanCloners sequential, ForkJoinPool pool) {
+        this.writingMapper = sequential.writingMapper;
+        this.readingMapper = sequential.readingMapper;
+        this.fallback = sequential.fallback;
+        this.immutableTypes = sequential.immutableTypes;
+        this.backends = sequential.backends;
+        this.staticClonersUsable = sequential.staticClonersUsable;
+        this.cloners = sequential.cloners;
+        this.getters = sequential.getters;
+        this.pool = pool;
+    }
+
+    /**
+     * The elements of large lists are cloned in parallel chunks, see {@link ForkJoinBatch}, no matter how deep
+     * the lists are nested. Generated cloners are not used, they clone the whole object on one thread.
+     *
+     * @return cloners which share the cache with these cloners but clone large lists within the specified pool
+     */
+    BeanCloners parallel(ForkJoinPool pool) {
+        return new BeanCloners(this, pool);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T clone(Object object, JavaType targetType, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            return (T) cloneValue(object, targetType, ignoredProperties);
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    @Override
+    public Object cloneValue(Object value, JavaType targetType, IgnoredProperties ignoredProperties) {
+        if (value == null) return null;
+
+        return cloneValue(value, targetType, ignoredProperties, backends.select(value.getClass(), targetType.getRawClass()));
+    }
+
+    /**
+     * Clones the value by the specified backend, its nested values by the backends selected for them
+     */
+    Object cloneValue(Object value, JavaType targetType, IgnoredProperties ignoredProperties, CloneBackend backend) {
+        if (value == null) return null;
+
+        Class<?> sourceClass = value.getClass();
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (isShared(sourceClass, targetClass)) {
+            return value;
+        }
+
+        if (backend == BuiltInBackend.JACKSON) {
+            return fallback.clone(value, targetType, ignoredProperties);
+        }
+
+        if (!(backend instanceof BuiltInBackend)) {
+            return backend.cloneValue(value, targetType, new BackendContext(this, ignoredProperties));
+        }
+
+        StaticCloner<Object> staticCloner = findStaticCloner(sourceClass, targetClass, ignoredProperties, backend);
+
+        if (staticCloner != null) {
+            return staticCloner.deepClone(value);
+        }
+
+        if (isList(sourceClass, targetClass)) {
+            return cloneList((Collection<?>) value, targetType.getContentType(), ignoredProperties);
+        }
+
+        BeanCloner cloner = find(sourceClass, targetType);
+
+        if (cloner != null) {
+            return cloner.clone(value, ignoredProperties, this);
+        }
+
+        return fallback.clone(value, targetType, ignoredProperties);
+    }
+
+    /**
+     * Creates a function cloning many values into the same target type, like the elements of a collection.
+     * The lookups for a source class are only done once for consecutive values of that class
+     * and the target's deserializer is only resolved once. The function may be used by many threads.
+     */
+    Function<Object, Object> batch(JavaType targetType, IgnoredProperties ignoredProperties) {
+        return new Batch(targetType, ignoredProperties);
+    }
+
+    boolean isShared(Class<?> sourceClass, Class<?> targetClass) {
+        return immutableTypes.isImmutable(sourceClass) && Accessors.wrap(targetClass).isAssignableFrom(sourceClass);
+    }
+
+    /**
+     * Clones the value by Jackson as a whole, like {@link BuiltInBackend#JACKSON} does
+     */
+    Object cloneByTokens(Object value, JavaType targetType, IgnoredProperties ignoredProperties) {
+        return fallback.clone(value, targetType, ignoredProperties);
+    }
+
+    boolean isImmutable(Class<?> type) {
+        return immutableTypes.isImmutable(type);
+    }
+
+    JavaType constructType(Type type) {
+        return readingMapper.constructType(type);
+    }
+
+    private StaticCloner<Object> findStaticCloner(Class<?> sourceClass, Class<?> targetClass, IgnoredProperties ignoredProperties, CloneBackend backend) {
+        if (backend != BuiltInBackend.GENERATED || pool != null) return null;
+        if (!ignoredProperties.isEmpty() || sourceClass != targetClass) return null;
+        if (!staticClonersUsable) return null;
+
+        return StaticCloners.find(targetClass);
+    }
+
+    /**
+     * The static eligibility rules of the built-in backends: generated cloners exist for annotated classes only,
+     * direct copies only for plain beans without polymorphism, custom (de)serializers and the like.
+     *
+     * @return true if the backend clones values of the source class into the target type itself
+     * instead of falling back to another backend
+     */
+    boolean isEligible(CloneBackend backend, Class<?> sourceClass, JavaType targetType) {
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (backend == BuiltInBackend.GENERATED) {
+            return sourceClass == targetClass && staticClonersUsable && StaticCloners.find(targetClass) != null;
+        }
+
+        if (backend == BuiltInBackend.REFLECTIVE) {
+            return isList(sourceClass, targetClass) || find(sourceClass, targetType) != null;
+        }
+
+        return true;
+    }
+
+    static boolean isList(Class<?> sourceClass, Class<?> targetClass) {
+        return Collection.class.isAssignableFrom(sourceClass) && isListType(targetClass);
+    }
+
+    private List<Object> cloneList(Collection<?> collection, JavaType elementType, IgnoredProperties ignoredProperties) {
+        if (pool != null && collection.size() >= MIN_PARALLEL_LIST_SIZE) {
+            return ForkJoinBatch.apply(collection, element -> cloneValue(element, elementType, ignoredProperties), pool);
+        }
+
+        List<Object> clonedList = new ArrayList<>(collection.size());
+
+        for (Object element : collection) {
+            clonedList.add(cloneValue(element, elementType, ignoredProperties));
+        }
+
+        return clonedList;
+    }
+
+    BeanCloner find(Class<?> sourceClass, JavaType targetType) {
+        Class<?> owner = findCacheOwner(sourceClass, targetType);
+
+        // not cacheable without a class loader leak, Jackson's own caches make the token cloner the cheaper choice
+        if (owner == null) return null;
+
+        return cloners.get(owner).computeIfAbsent(
+                new Key(sourceClass, targetType),
+                key -> Optional.ofNullable(create(key.sourceClass, key.targetType))
+        ).orElse(null);
+    }
+
+    /**
+     * @return the class whose class loader sees the source, the target and this library, or null if there is none
+     */
+    private static Class<?> findCacheOwner(Class<?> sourceClass, JavaType targetType) {
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (isVisible(BeanCloners.class, sourceClass) && isVisible(targetType, sourceClass)) {
+            return sourceClass;
+        }
+
+        if (isVisible(BeanCloners.class, targetClass) && isVisible(sourceClass, targetClass) && isVisible(targetType, targetClass)) {
+            return targetClass;
+        }
+
+        return null;
+    }
+
+    private static boolean isVisible(JavaType type, Class<?> owner) {
+        if (!isVisible(type.getRawClass(), owner)) return false;
+
+        for (int index = 0; index < type.containedTypeCount(); index++) {
+            if (!isVisible(type.containedType(index), owner)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return true if the class loader of the specified type is the owner's class loader or one of its parents
+     */
+    static boolean isVisible(Class<?> type, Class<?> owner) {
+        ClassLoader typeLoader = type.getClassLoader();
+        if (typeLoader == null) return true;
+
+        for (ClassLoader loader = owner.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader == typeLoader) return true;
+        }
+
+        return false;
+    }
+
+    private BeanCloner create(Class<?> sourceClass, JavaType targetType) {
+        try {
+            List<BeanPropertyWriter> sourceProperties = findSourceProperties(sourceClass);
+            if (sourceProperties == null) return null;
+
+            BeanDeserializer deserializer = findTargetDeserializer(targetType);
+            if (deserializer == null) return null;
+
+            return create(sourceProperties, deserializer);
+        } catch (JsonMappingException | RuntimeException e) {
+            // not clonable as plain bean: the token cloner will report the actual problem if there is one
+            return null;
+        }
+    }
+
+    /**
+     * @return the getters of the properties Jackson writes by their names, none if it wouldn't write the class as plain bean
+     */
+    Map<String, Function<Object, Object>> findGetters(Class<?> type) {
+        // not cacheable without a class loader leak
+        if (!isVisible(BeanCloners.class, type)) return createGetters(type);
+
+        return getters.get(type);
+    }
+
+    private Map<String, Function<Object, Object>> createGetters(Class<?> type) {
+        try {
+            List<BeanPropertyWriter> writers = findSourceProperties(type);
+            if (writers == null) return Collections.emptyMap();
+
+            Map<String, Function<Object, Object>> getters = new HashMap<>();
+
+            for (BeanPropertyWriter writer : writers) {
+                getters.put(writer.getName(), getter(writer.getMember()));
+            }
+
+            return getters;
+        } catch (JsonMappingException | RuntimeException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * @return the properties in the order Jackson writes them or null if Jackson wouldn't write the class as plain bean
+     */
+    List<BeanPropertyWriter> findSourceProperties(Class<?> sourceClass) throws JsonMappingException {
+        SerializerProvider serializers = writingMapper.getSerializerProviderInstance();
+        JavaType sourceType = writingMapper.constructType(sourceClass);
+
+        JsonSerializer<Object> serializer = serializers.findValueSerializer(sourceType);
+        if (serializer.getClass() != BeanSerializer.class) return null;
+        if (serializers.findTypeSerializer(sourceType) != null) return null;
+
+        BeanDescription description = writingMapper.getSerializationConfig().introspect(sourceType);
+        if (description.findAnyGetter() != null) return null;
+        if (description.getObjectIdInfo() != null) return null;
+        if (hasUnsupportedAnnotation(description.getClassAnnotations())) return null;
+
+        List<BeanPropertyWriter> properties = new ArrayList<>();
+        Iterator<PropertyWriter> writers = ((BeanSerializer) serializer).properties();
+
+        while (writers.hasNext()) {
+            PropertyWriter writer = writers.next();
+            if (writer.getClass() != BeanPropertyWriter.class) return null;
+
+            BeanPropertyWriter property = (BeanPropertyWriter) writer;
+            if (property.getTypeSerializer() != null) return null;
+            if (property.getViews() != null) return null;
+            if (hasUnsupportedAnnotation(property.getMember())) return null;
+
+            properties.add(property);
+        }
+
+        return properties;
+    }
+
+    private BeanDeserializer findTargetDeserializer(JavaType targetType) throws JsonMappingException {
+        DeserializationConfig config = readingMapper.getDeserializationConfig();
+        DeserializationContext context = ((DefaultDeserializationContext) readingMapper.getDeserializationContext())
+                .createInstance(config, null, null);
+
+        JsonDeserializer<Object> deserializer = context.findRootValueDeserializer(targetType);
+        if (deserializer.getClass() != BeanDeserializer.class) return null;
+        if (context.getFactory().findTypeDeserializer(config, targetType) != null) return null;
+
+        BeanDeserializer beanDeserializer = (BeanDeserializer) deserializer;
+        if (beanDeserializer.getObjectIdReader() != null) return null;
+        if (beanDeserializer.hasViews()) return null;
+
+        BeanDescription description = config.introspect(targetType);
+        if (description.findAnySetterAccessor() != null) return null;
+        if (description.findInjectables() != null && !description.findInjectables().isEmpty()) return null;
+        if (hasUnsupportedAnnotation(description.getClassAnnotations())) return null;
+
+        return beanDeserializer;
+    }
+
+    private BeanCloner create(List<BeanPropertyWriter> sourceProperties, BeanDeserializer deserializer) {
+        boolean failsOnUnknownProperties = readingMapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        ValueInstantiator instantiator = deserializer.getValueInstantiator();
+        if (instantiator.getClass() != StdValueInstantiator.class) return null;
+        if (instantiator.canCreateUsingDelegate() || instantiator.canCreateUsingArrayDelegate()) return null;
+
+        List<BeanCloner.Property> properties = new ArrayList<>();
+
+        for (BeanPropertyWriter sourceProperty : sourceProperties) {
+            SettableBeanProperty targetProperty = deserializer.findProperty(sourceProperty.getName());
+
+            if (targetProperty == null) {
+                // Jackson decides if an unknown property fails, depending on the mapper and the target class
+                if (failsOnUnknownProperties) return null;
+                continue;
+            }
+
+            BeanCloner.Property property = createProperty(sourceProperty, targetProperty);
+            if (property == null) return null;
+
+            properties.add(property);
+        }
+
+        BeanCloner.Property[] propertyArray = properties.toArray(new BeanCloner.Property[0]);
+
+        if (instantiator.canCreateFromObjectWith()) {
+            return createWithArgumentsCreator(instantiator, propertyArray);
+        }
+
+        if (instantiator.canCreateUsingDefault()) {
+            Executable creator = (Executable) instantiator.getDefaultCreator().getAnnotated();
+
+            if (creator instanceof Constructor) {
+                return BeanCloner.usingDefaultCreator(Accessors.constructor((Constructor<?>) creator), propertyArray);
+            }
+
+            Function<Object[], Object> factory = Accessors.creator(creator);
+            return BeanCloner.usingDefaultCreator(() -> factory.apply(new Object[0]), propertyArray);
+        }
+
+        return null;
+    }
+
+    private BeanCloner createWithArgumentsCreator(ValueInstantiator instantiator, BeanCloner.Property[] properties) {
+        Executable creator = (Executable) instantiator.getWithArgsCreator().getAnnotated();
+        SettableBeanProperty[] arguments = instantiator.getFromObjectArguments(readingMapper.getDeserializationConfig());
+
+        if (arguments == null || arguments.length != creator.getParameterCount()) return null;
+
+        Class<?>[] parameterTypes = creator.getParameterTypes();
+        Object[] defaults = new Object[arguments.length];
+
+        for (int index = 0; index < arguments.length; index++) {
+            SettableBeanProperty argument = arguments[index];
+
+            if (!(argument instanceof CreatorProperty)) return null;
+            if (((CreatorProperty) argument).getInjectableValueId() != null) return null;
+
+            defaults[index] = Accessors.defaultValue(parameterTypes[index]);
+        }
+
+        return BeanCloner.usingArgumentsCreator(Accessors.creator(creator), defaults, properties);
+    }
+
+    private BeanCloner.Property createProperty(BeanPropertyWriter sourceProperty, SettableBeanProperty targetProperty) {
+        if (targetProperty.getValueTypeDeserializer() != null) return null;
+        if (targetProperty.hasViews()) return null;
+        if (hasUnsupportedAnnotation(targetProperty.getMember())) return null;
+
+        String name = sourceProperty.getName();
+        Function<Object, Object> getter = getter(sourceProperty.getMember());
+        JavaType targetType = targetProperty.getType();
+
+        if (targetProperty instanceof CreatorProperty) {
+            return BeanCloner.Property.toCreatorArgument(name, getter, targetType, targetProperty.getCreatorIndex());
+        }
+
+        if (targetProperty.getClass() == MethodProperty.class) {
+            Method setter = ((AnnotatedMethod) targetProperty.getMember()).getAnnotated();
+            return BeanCloner.Property.toSetter(name, getter, targetType, Accessors.setter(setter));
+        }
+
+        if (targetProperty.getClass() == FieldProperty.class) {
+            Field field = ((AnnotatedField) targetProperty.getMember()).getAnnotated();
+            return BeanCloner.Property.toSetter(name, getter, targetType, Accessors.setter(field));
+        }
+
+        return null;
+    }
+
+    static Function<Object, Object> getter(AnnotatedMember member) {
+        if (member instanceof AnnotatedMethod) {
+            return Accessors.getter(((AnnotatedMethod) member).getAnnotated());
+        }
+
+        return Accessors.getter(((AnnotatedField) member).getAnnotated());
+    }
+
+    private static boolean hasUnsupportedAnnotation(AnnotatedMember member) {
+        if (member == null) return true;
+
+        for (Class<? extends Annotation> annotation : UNSUPPORTED_ANNOTATIONS) {
+            if (member.hasAnnotation(annotation)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean hasUnsupportedAnnotation(Annotations annotations) {
+        for (Class<? extends Annotation> annotation : UNSUPPORTED_ANNOTATIONS) {
+            if (annotations.has(annotation)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isListType(Class<?> type) {
+        return type == List.class || type == Collection.class || type == ArrayList.class;
+    }
+
+    private class Batch implements Function<Object, Object> {
+        private final JavaType targetType;
+        private final IgnoredProperties ignoredProperties;
+        private final ObjectReader fallbackReader;
+
+        /**
+         * Replaced as a whole, so concurrent threads see either the old or the new resolution
+         */
+        private volatile Resolution lastResolution;
+
+        private Batch(JavaType targetType, IgnoredProperties ignoredProperties) {
+            this.targetType = targetType;
+            this.ignoredProperties = ignoredProperties;
+            this.fallbackReader = fallback.readerFor(targetType);
+        }
+
+        @Override
+        public Object apply(Object value) {
+            if (value == null) return null;
+
+            try {
+                return clone(value, resolve(value.getClass()));
+            } catch (RuntimeException e) {
+                throw CloneException.wrap(e);
+            }
+        }
+
+        private Object clone(Object value, Resolution resolution) {
+            if (resolution.shared) return value;
+            if (resolution.backend == BuiltInBackend.JACKSON) return fallback.clone(value, fallbackReader, ignoredProperties);
+
+            if (!(resolution.backend instanceof BuiltInBackend)) {
+                return resolution.backend.cloneValue(value, targetType, new BackendContext(BeanCloners.this, ignoredProperties));
+            }
+
+            if (resolution.staticCloner != null) return resolution.staticCloner.deepClone(value);
+            if (resolution.list) return cloneList((Collection<?>) value, targetType.getContentType(), ignoredProperties);
+            if (resolution.cloner != null) return resolution.cloner.clone(value, ignoredProperties, BeanCloners.this);
+
+            return fallback.clone(value, fallbackReader, ignoredProperties);
+        }
+
+        private Resolution resolve(Class<?> sourceClass) {
+            Resolution resolution = lastResolution;
+            if (resolution != null && resolution.sourceClass == sourceClass && resolution.version == backends.version()) return resolution;
+
+            resolution = new Resolution(sourceClass, targetType, ignoredProperties);
+            lastResolution = resolution;
+
+            return resolution;
+        }
+    }
+
+    /**
+     * The way values of one source class are cloned into the target type, see {@link #cloneValue(Object, JavaType, IgnoredProperties)}
+     */
+    private class Resolution {
+        private final Class<?> sourceClass;
+        private final int version;
+        private final CloneBackend backend;
+        private final boolean shared;
+        private final StaticCloner<Object> staticCloner;
+        private final boolean list;
+        private final BeanCloner cloner;
+
+        private Resolution(Class<?> sourceClass, JavaType targetType, IgnoredProperties ignoredProperties) {
+            Class<?> targetClass = targetType.getRawClass();
+
+            this.sourceClass = sourceClass;
+            this.version = backends.version();
+            this.backend = backends.select(sourceClass, targetClass);
+            this.shared = isShared(sourceClass, targetClass);
+
+            boolean direct = !shared && backend instanceof BuiltInBackend && backend != BuiltInBackend.JACKSON;
+
+            this.staticCloner = direct ? findStaticCloner(sourceClass, targetClass, ignoredProperties, backend) : null;
+            this.list = direct && staticCloner == null && isList(sourceClass, targetClass);
+            this.cloner = direct && staticCloner == null && !list ? find(sourceClass, targetType) : null;
+        }
+    }
+
+    private static class Key {
+        private final Class<?> sourceClass;
+        private final JavaType targetType;
+
+        private Key(Class<?> sourceClass, JavaType targetType) {
+            this.sourceClass = sourceClass;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return sourceClass.equals(key.sourceClass) &&
+                    targetType.equals(key.targetType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourceClass, targetType);
+        }
+    }
+}
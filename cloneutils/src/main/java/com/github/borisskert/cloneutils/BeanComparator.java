@@ -0,0 +1,65 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.function.Function;
+
+/**
+ * Compares two instances of one class property by property through pre-bound getters
+ * and calculates consistent fingerprints of them.
+ * Instances are created by {@link BeanComparators} which makes sure the properties are the ones Jackson would write.
+ */
+class BeanComparator {
+    private final Property[] properties;
+
+    BeanComparator(Property[] properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return false as soon as one property differs
+     */
+    boolean equals(Object left, Object right, IgnoredProperties ignoredProperties, BeanComparators comparators) {
+        for (Property property : properties) {
+            if (ignoredProperties.isIgnored(property.name)) continue;
+
+            Object leftValue = property.getter.apply(left);
+            Object rightValue = property.getter.apply(right);
+
+            if (!comparators.valuesEqual(leftValue, rightValue, ignoredProperties.child(property.name))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return the {@link Fingerprints} of the object Jackson would write
+     */
+    long fingerprint(Object value, IgnoredProperties ignoredProperties, BeanComparators comparators) {
+        long fingerprints = 0;
+
+        for (Property property : properties) {
+            if (ignoredProperties.isIgnored(property.name)) continue;
+
+            Object propertyValue = property.getter.apply(value);
+            if (propertyValue == null) continue;
+
+            long valueFingerprint = comparators.fingerprint(propertyValue, ignoredProperties.child(property.name));
+            fingerprints += Fingerprints.ofProperty(property.nameFingerprint, valueFingerprint);
+        }
+
+        return Fingerprints.ofObject(fingerprints);
+    }
+
+    static class Property {
+        final String name;
+        final long nameFingerprint;
+        final Function<Object, Object> getter;
+
+        Property(String name, Function<Object, Object> getter) {
+            this.name = name;
+            this.nameFingerprint = Fingerprints.ofString(name);
+            this.getter = getter;
+        }
+    }
+}
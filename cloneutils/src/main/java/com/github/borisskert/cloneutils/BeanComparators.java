@@ -0,0 +1,329 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Compares two objects like their JSON representations would compare, without building the JSON trees or maps,
+ * and calculates {@link Fingerprints} of the JSON representations which are consistent with that comparison.
+ * <ul>
+ * <li>Two instances of one plain bean class are walked side by side through a {@link BeanComparator}</li>
+ * <li>Collections are compared element by element</li>
+ * <li>Built-in immutable values are compared by equals, which matches their JSON representation, decimals regardless of their scale</li>
+ * <li>Everything else is serialized into two {@link TokenBuffer}s which are compared token by token</li>
+ * </ul>
+ * Each comparison stops at the first difference. Only objects whose properties are written in different orders,
+ * like maps with a different iteration order, are read into maps to be compared regardless of the order.
+ * <p>
+ * The comparators are cached on the compared class, like the cloners of {@link BeanCloners}.
+ * Fingerprints of the remaining values are calculated from the written tokens.
+ */
+class BeanComparators {
+    private final BeanCloners cloners;
+    private final ObjectWriter writer;
+    private final ObjectMapper readingMapper;
+
+    private final ClassValue<Optional<BeanComparator>> comparators = new ClassValue<Optional<BeanComparator>>() {
+        @Override
+        protected Optional<BeanComparator> computeValue(Class<?> type) {
+            return Optional.ofNullable(create(type));
+        }
+    };
+
+    /**
+     * The names the enum constants are written with (by ordinal), or null if they are not written as plain strings
+     */
+    private final ClassValue<String[]> enumNames = new ClassValue<String[]>() {
+        @Override
+        protected String[] computeValue(Class<?> type) {
+            return findEnumNames(type);
+        }
+    };
+
+    BeanComparators(BeanCloners cloners, ObjectMapper writingMapper, ObjectMapper readingMapper) {
+        this.cloners = cloners;
+        this.writer = writingMapper.writer();
+        this.readingMapper = readingMapper;
+    }
+
+    boolean equals(Object left, Object right, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            return valuesEqual(left, right, ignoredProperties);
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    boolean valuesEqual(Object left, Object right, IgnoredProperties ignoredProperties) {
+        if (left == right) return true;
+        if (left == null || right == null) return false;
+
+        Class<?> type = left.getClass();
+
+        if (type != right.getClass()) {
+            return tokensEqual(left, right, ignoredProperties);
+        }
+
+        if (hasValueEquality(type)) {
+            return numbersEqual(left, right);
+        }
+
+        if (left instanceof Collection) {
+            return elementsEqual((Collection<?>) left, (Collection<?>) right, ignoredProperties);
+        }
+
+        BeanComparator comparator = find(type);
+
+        if (comparator != null) {
+            return comparator.equals(left, right, ignoredProperties, this);
+        }
+
+        return tokensEqual(left, right, ignoredProperties);
+    }
+
+    long fingerprintOf(Object value, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            return fingerprint(value, ignoredProperties);
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    long fingerprint(Object value, IgnoredProperties ignoredProperties) {
+        if (value == null) return Fingerprints.NULL;
+
+        Class<?> type = value.getClass();
+
+        if (type == String.class) return Fingerprints.ofString((String) value);
+        if (type == Boolean.class) return Fingerprints.ofBoolean((Boolean) value);
+        if (type == Character.class) return Fingerprints.ofChar((Character) value);
+        if (Fingerprints.isNumber(type)) return Fingerprints.ofNumber((Number) value);
+
+        if (value instanceof Enum) {
+            Enum<?> constant = (Enum<?>) value;
+            String[] names = enumNames.get(constant.getDeclaringClass());
+
+            if (names != null) return Fingerprints.ofString(names[constant.ordinal()]);
+        }
+
+        if (value instanceof Collection) {
+            long elements = Fingerprints.startArray();
+
+            for (Object element : (Collection<?>) value) {
+                elements = Fingerprints.addElement(elements, fingerprint(element, ignoredProperties));
+            }
+
+            return elements;
+        }
+
+        BeanComparator comparator = find(type);
+
+        if (comparator != null) {
+            return comparator.fingerprint(value, ignoredProperties, this);
+        }
+
+        return tokensFingerprint(value, ignoredProperties);
+    }
+
+    private boolean elementsEqual(Collection<?> left, Collection<?> right, IgnoredProperties ignoredProperties) {
+        if (left.size() != right.size()) return false;
+
+        Iterator<?> rightElements = right.iterator();
+
+        for (Object leftElement : left) {
+            if (!valuesEqual(leftElement, rightElements.next(), ignoredProperties)) return false;
+        }
+
+        return true;
+    }
+
+    private boolean tokensEqual(Object left, Object right, IgnoredProperties ignoredProperties) {
+        TokenBuffer leftTokens = new TokenBuffer(readingMapper, false);
+        TokenBuffer rightTokens = new TokenBuffer(readingMapper, false);
+
+        try {
+            ObjectWriter ignoringWriter = IgnoredPropertiesModule.ignoring(writer, ignoredProperties);
+            ignoringWriter.writeValue(leftTokens, left);
+            ignoringWriter.writeValue(rightTokens, right);
+
+            JsonParser leftParser = leftTokens.asParser();
+            JsonParser rightParser = rightTokens.asParser();
+            JsonToken token;
+
+            while ((token = leftParser.nextToken()) != null) {
+                // an object with more properties than the other: all property names so far have been equal
+                if (rightParser.nextToken() != token) return false;
+
+                if (!tokenValuesEqual(token, leftParser, rightParser)) {
+                    return token == JsonToken.FIELD_NAME && unorderedEqual(leftTokens, rightTokens);
+                }
+            }
+
+            return rightParser.nextToken() == null;
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private static boolean tokenValuesEqual(JsonToken token, JsonParser left, JsonParser right) throws IOException {
+        switch (token) {
+            case FIELD_NAME:
+            case VALUE_STRING:
+                return left.getText().equals(right.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return numbersEqual(left.getNumberValue(), right.getNumberValue());
+            case VALUE_EMBEDDED_OBJECT:
+                return Objects.deepEquals(left.getEmbeddedObject(), right.getEmbeddedObject());
+            default:
+                return true;
+        }
+    }
+
+    private long tokensFingerprint(Object value, IgnoredProperties ignoredProperties) {
+        TokenBuffer valueAsTokens = new TokenBuffer(readingMapper, false);
+
+        try {
+            IgnoredPropertiesModule.ignoring(writer, ignoredProperties).writeValue(valueAsTokens, value);
+
+            JsonParser parser = valueAsTokens.asParser();
+            parser.nextToken();
+
+            return fingerprint(parser);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private long fingerprint(JsonParser parser) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case START_OBJECT:
+                long properties = 0;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    long name = Fingerprints.ofString(parser.getCurrentName());
+                    parser.nextToken();
+
+                    properties += Fingerprints.ofProperty(name, fingerprint(parser));
+                }
+
+                return Fingerprints.ofObject(properties);
+            case START_ARRAY:
+                long elements = Fingerprints.startArray();
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    elements = Fingerprints.addElement(elements, fingerprint(parser));
+                }
+
+                return elements;
+            case VALUE_STRING:
+                return Fingerprints.ofString(parser.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Fingerprints.ofNumber(parser.getNumberValue());
+            case VALUE_TRUE:
+                return Fingerprints.TRUE;
+            case VALUE_FALSE:
+                return Fingerprints.FALSE;
+            case VALUE_EMBEDDED_OBJECT:
+                return embeddedFingerprint(parser.getEmbeddedObject());
+            default:
+                return Fingerprints.NULL;
+        }
+    }
+
+    private long embeddedFingerprint(Object value) throws IOException {
+        if (value instanceof byte[]) return Fingerprints.ofBinary((byte[]) value);
+
+        return Fingerprints.ofEmbedded(readingMapper.writeValueAsString(value));
+    }
+
+    /**
+     * The property names differ, maybe just by their order
+     */
+    private boolean unorderedEqual(TokenBuffer leftTokens, TokenBuffer rightTokens) throws IOException {
+        Object left = readingMapper.readValue(leftTokens.asParser(readingMapper), Object.class);
+        Object right = readingMapper.readValue(rightTokens.asParser(readingMapper), Object.class);
+
+        return Objects.equals(left, right);
+    }
+
+    private BeanComparator find(Class<?> type) {
+        // not cacheable without a class loader leak
+        if (!BeanCloners.isVisible(BeanComparators.class, type)) return null;
+
+        return comparators.get(type).orElse(null);
+    }
+
+    private BeanComparator create(Class<?> type) {
+        try {
+            List<BeanPropertyWriter> writers = cloners.findSourceProperties(type);
+            if (writers == null) return null;
+
+            BeanComparator.Property[] properties = new BeanComparator.Property[writers.size()];
+
+            for (int index = 0; index < properties.length; index++) {
+                BeanPropertyWriter writer = writers.get(index);
+                properties[index] = new BeanComparator.Property(writer.getName(), BeanCloners.getter(writer.getMember()));
+            }
+
+            return new BeanComparator(properties);
+        } catch (JsonMappingException | RuntimeException e) {
+            // not comparable as plain bean: the token comparison will report the actual problem if there is one
+            return null;
+        }
+    }
+
+    private String[] findEnumNames(Class<?> enumType) {
+        Object[] constants = enumType.getEnumConstants();
+        String[] names = new String[constants.length];
+
+        try {
+            for (int index = 0; index < constants.length; index++) {
+                TokenBuffer constantAsTokens = new TokenBuffer(readingMapper, false);
+                writer.writeValue(constantAsTokens, constants[index]);
+
+                JsonParser parser = constantAsTokens.asParser();
+                if (parser.nextToken() != JsonToken.VALUE_STRING) return null;
+
+                names[index] = parser.getText();
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+
+        return names;
+    }
+
+    /**
+     * {@link BigDecimal#equals(Object)} compares the scale too, unlike the values read from the written decimals
+     */
+    private static boolean numbersEqual(Object left, Object right) {
+        if (left instanceof BigDecimal && right instanceof BigDecimal) {
+            return ((BigDecimal) left).compareTo((BigDecimal) right) == 0;
+        }
+
+        return left.equals(right);
+    }
+
+    /**
+     * {@link URI#equals(Object)} ignores the case of some parts, unlike a comparison of the written URIs
+     */
+    private static boolean hasValueEquality(Class<?> type) {
+        return type != URI.class && ImmutableTypes.isBuiltIn(type);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import com.github.borisskert.cloneutils.spi.CloneContext;
+
+/**
+ * The backends of this library, see {@link CloneBackends}. They are recognized by {@link BeanCloners}
+ * which clones their values without going through the SPI.
+ */
+enum BuiltInBackend implements CloneBackend {
+    /**
+     * Writes the value into a {@link com.fasterxml.jackson.databind.util.TokenBuffer} and reads the clone from it
+     */
+    JACKSON("jackson"),
+
+    /**
+     * Copies the properties of plain beans by reflection, all other values by {@link #JACKSON}
+     */
+    REFLECTIVE("reflective"),
+
+    /**
+     * Uses the cloners generated for classes annotated with {@link GenerateCloner}, all other values by {@link #REFLECTIVE}.
+     * Engines with registered modules, features or immutable types clone everything by {@link #REFLECTIVE}.
+     */
+    GENERATED("generated");
+
+    private final String name;
+
+    BuiltInBackend(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object cloneValue(Object value, JavaType targetType, CloneContext context) throws CloneException {
+        return BackendContext.of(context).cloneValue(value, targetType, this);
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.borisskert.cloneutils;
+
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Selects the {@link CloneBackend} of an engine for a source/target class pair:
+ * <ol>
+ * <li>the backend pinned for the class pair</li>
+ * <li>the backend of the source class, else the backend of the target class</li>
+ * <li>if the engine is adaptive, the backend decided for the class pair, see {@link AdaptiveDecision}</li>
+ * <li>the engine's default backend</li>
+ * </ol>
+ * The decisions are cached by {@link ClassValue} on the source class like the cloners of {@link BeanCloners},
+ * class pairs which would leak a class loader that way aren't decided adaptively. Their pins are kept by the
+ * selection itself, they live as long as the engine.
+ */
+class CloneBackendSelection {
+    private final CloneBackend defaultBackend;
+    private final Map<Class<?>, CloneBackend> classBackends;
+    private final List<CloneBackend> candidates;
+    private final int samples;
+
+    private final ClassValue<ConcurrentMap<Class<?>, AdaptiveDecision>> decisions = new ClassValue<ConcurrentMap<Class<?>, AdaptiveDecision>>() {
+        @Override
+        protected ConcurrentMap<Class<?>, AdaptiveDecision> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The pins of class pairs whose target class isn't visible to the source class, by source and target class
+     */
+    private final Map<Class<?>, Map<Class<?>, AdaptiveDecision>> invisiblePins = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * All decisions for {@link #getDecisions()}, without keeping them alive
+     */
+    private final Map<AdaptiveDecision, Boolean> registry = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Avoids the lookup of decisions as long as there are none
+     */
+    private volatile boolean hasDecisions;
+
+    /**
+     * Changed by each pin, so callers which keep a selected backend (like a batch) know to select again
+     */
+    private volatile int version;
+
+    /**
+     * @param candidates the candidates of an adaptive engine by their expected speed, empty if not adaptive
+     * @param samples    the measured invocations per candidate before the fastest is promoted
+     */
+    CloneBackendSelection(CloneBackend defaultBackend, Map<Class<?>, CloneBackend> classBackends, List<CloneBackend> candidates, int samples) {
+        this.defaultBackend = defaultBackend;
+        this.classBackends = new HashMap<>(classBackends);
+        this.candidates = new ArrayList<>(candidates);
+        this.samples = samples;
+        this.hasDecisions = !candidates.isEmpty();
+    }
+
+    CloneBackend select(Class<?> sourceClass, Class<?> targetClass) {
+        if (hasDecisions) {
+            AdaptiveDecision decision = findDecision(sourceClass, targetClass);
+            if (decision != null) return decision.backend();
+        }
+
+        if (!classBackends.isEmpty()) {
+            CloneBackend backend = classBackends.get(sourceClass);
+            if (backend != null) return backend;
+
+            backend = classBackends.get(targetClass);
+            if (backend != null) return backend;
+        }
+
+        if (candidates.isEmpty() || !BeanCloners.isVisible(targetClass, sourceClass)) {
+            return defaultBackend;
+        }
+
+        return decisions.get(sourceClass).computeIfAbsent(targetClass, key -> decide(sourceClass, key)).backend();
+    }
+
+    /**
+     * Pins the backend of a class pair, it replaces a decision made before
+     */
+    synchronized void pin(Class<?> sourceClass, Class<?> targetClass, CloneBackend backend) {
+        AdaptiveDecision decision = AdaptiveDecision.pinned(sourceClass, targetClass, backend);
+
+        if (BeanCloners.isVisible(targetClass, sourceClass)) {
+            decisions.get(sourceClass).put(targetClass, decision);
+        } else {
+            invisiblePins.computeIfAbsent(sourceClass, key -> new ConcurrentHashMap<>()).put(targetClass, decision);
+        }
+
+        registry.put(decision, Boolean.TRUE);
+        hasDecisions = true;
+        version++;
+    }
+
+    int version() {
+        return version;
+    }
+
+    List<BackendDecision> getDecisions() {
+        List<AdaptiveDecision> snapshot;
+
+        synchronized (registry) {
+            snapshot = new ArrayList<>(registry.keySet());
+        }
+
+        List<BackendDecision> result = new ArrayList<>(snapshot.size());
+
+        for (AdaptiveDecision decision : snapshot) {
+            // a replaced decision may still be reachable by a batch
+            if (findDecision(decision.getSourceClass(), decision.getTargetClass()) == decision) {
+                result.add(decision.toSnapshot());
+            }
+        }
+
+        return result;
+    }
+
+    private AdaptiveDecision findDecision(Class<?> sourceClass, Class<?> targetClass) {
+        AdaptiveDecision decision = decisions.get(sourceClass).get(targetClass);
+        if (decision != null || invisiblePins.isEmpty()) return decision;
+
+        Map<Class<?>, AdaptiveDecision> pins = invisiblePins.get(sourceClass);
+        return pins != null ? pins.get(targetClass) : null;
+    }
+
+    private AdaptiveDecision decide(Class<?> sourceClass, Class<?> targetClass) {
+        AdaptiveDecision decision = new AdaptiveDecision(sourceClass, targetClass, candidates, samples);
+        registry.put(decision, Boolean.TRUE);
+
+        return decision;
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.borisskert.cloneutils;
+
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+
+/**
+ * The built-in {@link CloneBackend}s. They clone alike, only their speed differs.
+ */
+public final class CloneBackends {
+
+    /**
+     * Prevent instance creation
+     */
+    private CloneBackends() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return the backend writing values as JSON tokens and reading the clones from them: the reference all
+     * other backends have to match
+     */
+    public static CloneBackend jackson() {
+        return BuiltInBackend.JACKSON;
+    }
+
+    /**
+     * @return the backend copying the properties of plain beans directly, other values are cloned by {@link #jackson()}
+     */
+    public static CloneBackend reflective() {
+        return BuiltInBackend.REFLECTIVE;
+    }
+
+    /**
+     * @return the backend using the cloners generated for classes annotated with {@link GenerateCloner},
+     * other values are cloned by {@link #reflective()}. It's the default backend of an engine.
+     */
+    public static CloneBackend generated() {
+        return BuiltInBackend.GENERATED;
+    }
+}
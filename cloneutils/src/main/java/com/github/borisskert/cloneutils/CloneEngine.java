@@ -0,0 +1,1205 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Clones Plain Old Java Objects (POJOs) with its own configuration and caches. Create one by {@link #builder()},
+ * {@link CloneUtils} offers the same operations on a default engine.
+ * Engines are thread-safe and meant to be long living: their caches fill up with each cloned class.
+ * <p>
+ * Ignored properties are dotted paths like "inner.name" and may contain wildcards: "*" matches any single
+ * property name, "**" any number of property levels and "[*]" the elements of an array,
+ * like "**.id", "*.audit.*" or "items[*].internalNotes". A backslash escapes "[", "]", "*" and itself within
+ * a property name, like "price\\[EUR\\]" for the map key "price[EUR]". Malformed patterns throw a {@link CloneException}.
+ * <p>
+ * Values are cloned by {@link CloneBackend}s which may be selected per engine and per class, see {@link Builder#backend(CloneBackend)}.
+ */
+public class CloneEngine {
+    private final ObjectMapper nonNullMapper;
+    private final ObjectMapper nonFailingMapper;
+    private final ObjectMapper mergingMapper;
+    private final ImmutableTypes immutableTypes;
+    private final BeanCloners beanCloners;
+    private final BeanComparators beanComparators;
+    private final InPlaceCloner inPlaceCloner;
+    private final SharingPatcher sharingPatcher;
+    private final TokenCloner tokenCloner;
+    private final TreeDiffer treeDiffer;
+    private final ForkJoinPool pool;
+    private final CloneBackendSelection backends;
+
+    /**
+     * Generated cloners hand nested values to the default engine of {@link CloneUtils} and know nothing about modules
+     * or features, so they are only used by engines which map like the default engine
+     */
+    private final boolean mapsLikeDefault;
+
+    private CloneEngine(Builder builder) {
+        immutableTypes = new ImmutableTypes();
+        builder.immutableTypes.forEach(immutableTypes::register);
+
+        ImmutableValueModule immutableValueModule = new ImmutableValueModule(immutableTypes);
+
+        nonNullMapper = new ObjectMapper();
+        nonNullMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        nonNullMapper.setDefaultMergeable(true);
+        nonNullMapper.registerModule(immutableValueModule);
+        nonNullMapper.registerModule(new IgnoredPropertiesModule());
+        nonNullMapper.setFilterProvider(IgnoredPropertiesModule.filters());
+        builder.configurations.forEach(configuration -> configuration.accept(nonNullMapper));
+
+        nonFailingMapper = new ObjectMapper();
+        nonFailingMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        nonFailingMapper.registerModule(immutableValueModule);
+        builder.configurations.forEach(configuration -> configuration.accept(nonFailingMapper));
+
+        mergingMapper = nonFailingMapper.copy();
+        mergingMapper.setDefaultMergeable(true);
+
+        mapsLikeDefault = builder.configurations.isEmpty() && builder.immutableTypes.isEmpty();
+        pool = builder.pool == null ? ForkJoinPool.commonPool() : builder.pool;
+        backends = new CloneBackendSelection(builder.backend, builder.classBackends, builder.candidates, builder.samples);
+
+        tokenCloner = new TokenCloner(nonNullMapper, nonFailingMapper);
+        beanCloners = new BeanCloners(nonNullMapper, nonFailingMapper, tokenCloner, immutableTypes, backends, mapsLikeDefault);
+        beanComparators = new BeanComparators(beanCloners, nonNullMapper, nonFailingMapper);
+        inPlaceCloner = new InPlaceCloner(beanCloners);
+        sharingPatcher = new SharingPatcher(beanCloners, this);
+        treeDiffer = new TreeDiffer(nonNullMapper, nonFailingMapper);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the backends chosen for the class pairs cloned so far by an adaptive engine (see {@link Builder#adaptive(CloneBackend...)})
+     * and the pinned ones
+     */
+    public List<BackendDecision> getBackendDecisions() {
+        return backends.getDecisions();
+    }
+
+    /**
+     * Pins the backend for the values of the source class cloned into the target class. It wins over the backends
+     * selected per class and replaces the engine's own decision for the class pair.
+     *
+     * @param sourceClass the exact source class
+     * @param targetClass the exact target class
+     * @param backend     the backend for the class pair
+     */
+    public void pinBackend(Class<?> sourceClass, Class<?> targetClass, CloneBackend backend) {
+        backends.pin(sourceClass, targetClass, Objects.requireNonNull(backend));
+    }
+
+    /**
+     * Creates an deep clone of the specified object which will be returned as a new instance of the specified {@link Class}
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T, S> T deepClone(S object, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        StaticCloner<T> staticCloner = staticClonerFor(object, object, targetClass, ignoredProperties);
+        if (staticCloner != null) return staticCloner.deepClone((T) object);
+
+        JavaType targetType = nonFailingMapper.constructType(targetClass);
+        return beanCloners.clone(object, targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the pool of this engine.
+     * Use it for single objects holding lists with very many elements.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T> T deepCloneParallel(T object, String... ignoredProperties) throws CloneException {
+        return deepCloneParallel(object, pool, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the specified {@link ForkJoinPool}.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param pool              the pool which clones the list elements
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T> T deepCloneParallel(T object, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        return (T) deepCloneParallel(object, object.getClass(), pool, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, Class, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the specified {@link ForkJoinPool}.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param targetClass       the target {@link Class}
+     * @param pool              the pool which clones the list elements
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T, S> T deepCloneParallel(S object, Class<T> targetClass, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        JavaType targetType = nonFailingMapper.constructType(targetClass);
+        return beanCloners.parallel(pool).clone(object, targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Creates deep clones of all specified objects as new instances of the specified {@link Class}.
+     * Faster than cloning them one by one: the way to clone them is resolved once for all objects of the same class.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException if something fails
+     */
+    public <T, S> List<T> deepCloneAll(Collection<S> objects, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        Function<Object, Object> cloner = batchClonerFor(targetClass, ignoredProperties);
+        List<T> clones = new ArrayList<>(objects.size());
+
+        for (S object : objects) {
+            clones.add((T) cloner.apply(object));
+        }
+
+        return clones;
+    }
+
+    /**
+     * Creates deep clones of the streamed objects as new instances of the specified {@link Class}, like
+     * {@link #deepCloneAll(Collection, Class, String...)} does. The stream may be parallel.
+     *
+     * @param objects           the stream of objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the stream of clones, a {@link CloneException} will be thrown by its terminal operation
+     */
+    public <T, S> Stream<T> deepCloneAll(Stream<S> objects, Class<T> targetClass, String... ignoredProperties) {
+        Function<Object, Object> cloner = batchClonerFor(targetClass, ignoredProperties);
+
+        return objects.map(object -> (T) cloner.apply(object));
+    }
+
+    /**
+     * Creates deep clones of all specified objects like {@link #deepCloneAll(Collection, Class, String...)} does,
+     * but within the pool of this engine.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException of the first object (by order) which failed
+     */
+    public <T, S> List<T> deepCloneAllParallel(Collection<S> objects, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        return deepCloneAllParallel(objects, targetClass, pool, ignoredProperties);
+    }
+
+    /**
+     * Creates deep clones of all specified objects like {@link #deepCloneAll(Collection, Class, String...)} does,
+     * but within the specified {@link ForkJoinPool}. The objects are split into tasks according to the measured
+     * cost of cloning them.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param pool              the pool which clones the objects
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException of the first object (by order) which failed
+     */
+    public <T, S> List<T> deepCloneAllParallel(Collection<S> objects, Class<T> targetClass, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        Function<Object, Object> cloner = batchClonerFor(targetClass, ignoredProperties);
+        return (List<T>) ForkJoinBatch.apply(objects, cloner, pool);
+    }
+
+    /**
+     * Creates an deep clone of the specified object which will be returned as new instance same type
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T> T deepClone(T object, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        StaticCloner<T> staticCloner = staticClonerFor(object, object, object.getClass(), ignoredProperties);
+        if (staticCloner != null) return staticCloner.deepClone(object);
+
+        JavaType targetType = nonFailingMapper.constructType(object.getClass());
+        return beanCloners.clone(object, targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Clones and patches a specified object and return a new instance same type
+     *
+     * @param origin            the object to be cloned (may be null)
+     * @param patch             the patch which will be applied
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return a new instance of the cloned and patched object
+     * @throws CloneException if something fails
+     */
+    public <T, S> S deepPatch(S origin, T patch, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        StaticCloner<S> staticCloner = staticClonerFor(origin, patch, origin.getClass(), ignoredProperties);
+        if (staticCloner != null) return staticCloner.deepPatch(origin, (S) patch);
+
+        Map<String, Object> patchAsMap = toMap(patch, ignoredProperties);
+        return patchFromMap(origin, patchAsMap);
+    }
+
+    /**
+     * Clones and patches a specified object and return a new instance of the specified {@link Class}
+     *
+     * @param origin            the source object to be cloned (may be null)
+     * @param patch             the patch which will be applied
+     * @param targetClass       the target type as {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source class type
+     * @param <C>               the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T, S, C> C deepPatch(S origin, T patch, Class<C> targetClass, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        StaticCloner<C> staticCloner = staticClonerFor(origin, patch, targetClass, ignoredProperties);
+        if (staticCloner != null) return staticCloner.deepPatch((C) origin, (C) patch);
+
+        Map<String, Object> patchAsMap = toMap(patch, ignoredProperties);
+        return patchFromMap(origin, patchAsMap, targetClass);
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does,
+     * but within the pool of this engine. A failing object doesn't stop the others,
+     * the failures are reported together by their indexes.
+     *
+     * @param origins           the objects to be cloned (may contain null)
+     * @param patch             the patch which will be applied to each of them
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, String... ignoredProperties) throws CloneException {
+        return deepPatchAllParallel(origins, patch, pool, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does,
+     * but within the specified {@link ForkJoinPool}. The objects are split into tasks according to the measured
+     * cost of patching them. A failing object doesn't stop the others, the failures are reported together
+     * by their indexes.
+     *
+     * @param origins           the objects to be cloned (may contain null)
+     * @param patch             the patch which will be applied to each of them
+     * @param pool              the pool which patches the objects
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        Function<Object, Object> patcher = reporting(patcherFor(patch, IgnoredProperties.of(ignoredProperties)));
+        return collectPatched(ForkJoinBatch.apply(origins, patcher, pool));
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does.
+     * The patch is converted once for all objects. A failing object doesn't stop the others, the failures are
+     * reported together by their indexes.
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public <T, S> List<S> deepPatchAll(Collection<S> origins, T patch, CloneSpec<?> spec) throws CloneException {
+        Function<Object, Object> patcher = reporting(patcherFor(patch, spec));
+        List<Object> results = new ArrayList<>(origins.size());
+
+        for (S origin : origins) {
+            results.add(patcher.apply(origin));
+        }
+
+        return collectPatched(results);
+    }
+
+    /**
+     * Clones and patches all specified objects like {@link #deepPatchAll(Collection, Object, CloneSpec)} does,
+     * but within the pool of this engine
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, CloneSpec<?> spec) throws CloneException {
+        return deepPatchAllParallel(origins, patch, pool, spec);
+    }
+
+    /**
+     * Clones and patches all specified objects like {@link #deepPatchAll(Collection, Object, CloneSpec)} does,
+     * but within the specified {@link ForkJoinPool}
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param pool    the pool which patches the objects
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, ForkJoinPool pool, CloneSpec<?> spec) throws CloneException {
+        Function<Object, Object> patcher = reporting(patcherFor(patch, spec));
+        return collectPatched(ForkJoinBatch.apply(origins, patcher, pool));
+    }
+
+    /**
+     * Clones a specified object and applies many patches in their order, like nested calls of
+     * {@link #deepPatch(Object, Object, String...)} do. The patches are folded into one by the same deep merge first,
+     * so the object is cloned and patched once instead of once per patch. Both ways are equal for patches which
+     * agree on the types of their properties.
+     *
+     * @param origin            the source object to be cloned (may be null)
+     * @param patches           the patches which will be applied in their order (may contain null)
+     * @param ignoredProperties the property names of the patches which will not be applied
+     * @param <S>               the source object type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <S> S deepPatchFolded(S origin, List<?> patches, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        IgnoredProperties ignored = IgnoredProperties.of(ignoredProperties);
+        ObjectNode foldedPatch = nonNullMapper.createObjectNode();
+
+        try {
+            for (Object patch : patches) {
+                if (patch == null) continue;
+
+                nonNullMapper.readerForUpdating(foldedPatch).readValue(toTree(patch, ignored));
+            }
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+
+        return (S) patchFromNode(origin, foldedPatch, origin.getClass());
+    }
+
+    /**
+     * Clones a specified object and applies the changes of a {@link DeepDiff}: properties are added, replaced and removed,
+     * array elements are addressed by their index (unlike the other patches, which append them)
+     *
+     * @param origin the object to be cloned (may be null), usually the object the diff has been created from
+     * @param diff   the changes to be applied
+     * @param <S>    the source and target type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails, like a changed path which the origin doesn't contain
+     */
+    public <S> S deepPatch(S origin, DeepDiff diff) throws CloneException {
+        if (origin == null) return null;
+
+        return (S) deepPatch(origin, diff, origin.getClass());
+    }
+
+    /**
+     * Clones a specified object, applies the changes of a {@link DeepDiff} and returns a new instance of the specified {@link Class}
+     *
+     * @param origin      the object to be cloned (may be null), usually the object the diff has been created from
+     * @param diff        the changes to be applied
+     * @param targetClass the target type as {@link Class}
+     * @param <S>         the source object type
+     * @param <C>         the target object type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails, like a changed path which the origin doesn't contain
+     * @see #deepPatch(Object, DeepDiff)
+     */
+    public <S, C> C deepPatch(S origin, DeepDiff diff, Class<C> targetClass) throws CloneException {
+        if (origin == null) return null;
+
+        ObjectNode originAsNode = treeDiffer.toTree(origin);
+
+        try {
+            diff.applyTo(originAsNode);
+            return nonFailingMapper.treeToValue(originAsNode, targetClass);
+        } catch (IOException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    /**
+     * This patch will not merge list properties
+     */
+    public <T, S, C> C patch(S origin, T patch, Class<C> targetClass, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        S clonedOrigin = deepClone(origin);
+        T patchWithoutIgnoredProperties = deepClone(patch, ignoredProperties);
+
+        return patch(clonedOrigin, patchWithoutIgnoredProperties, targetClass);
+    }
+
+    /**
+     * This patch will not merge list properties
+     */
+    public <T, S> S patch(S origin, T patch, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        S clonedOrigin = deepClone(origin);
+        T patchWithoutIgnoredProperties = deepClone(patch, ignoredProperties);
+
+        return (S) patch(clonedOrigin, patchWithoutIgnoredProperties, origin.getClass());
+    }
+
+    /**
+     * Clones and patches fields only of a specified object and return a new instance same type
+     *
+     * @param origin         the object to be cloned (may be null)
+     * @param patch          the patch to be applied
+     * @param onlyThisFields property names which will be patched
+     * @param <T>            the patch type
+     * @param <S>            the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T, S> S deepPatchFieldsOnly(S origin, T patch, String... onlyThisFields) throws CloneException {
+        if (origin == null) return null;
+
+        StaticCloner<S> staticCloner = staticClonerFor(origin, patch, origin.getClass());
+        if (staticCloner != null) return staticCloner.deepPatchFieldsOnly(origin, (S) patch, onlyThisFields);
+
+        Map<String, Object> patchAsMap = toMapFilteredBy(patch, onlyThisFields);
+        return patchFromMap(origin, patchAsMap);
+    }
+
+    /**
+     * Clones and patches fields only of a specified object and return a new instance of the specified {@link Class}
+     *
+     * @param origin         the object to be cloned (may be null)
+     * @param patch          the patch to be applied
+     * @param targetClass    the target type as {@link Class}
+     * @param onlyThisFields property names which will be patched
+     * @param <T>            the patch type
+     * @param <S>            the source object type
+     * @param <C>            the target object type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public <T, S, C> C deepPatchFieldsOnly(S origin, T patch, Class<C> targetClass, String... onlyThisFields) throws CloneException {
+        if (origin == null) return null;
+
+        StaticCloner<C> staticCloner = staticClonerFor(origin, patch, targetClass);
+        if (staticCloner != null) return staticCloner.deepPatchFieldsOnly((C) origin, (C) patch, onlyThisFields);
+
+        Map<String, Object> patchAsMap = toMapFilteredBy(patch, onlyThisFields);
+        return patchFromMap(origin, patchAsMap, targetClass);
+    }
+
+    /**
+     * Indicates if two specified objects equal deep: if their JSON representations would be equal.
+     * The objects are compared side by side and the comparison stops at the first difference.
+     *
+     * @param right             the left object
+     * @param left              the right object
+     * @param ignoredProperties the property names which will be ignored during the check
+     * @param <S>               the left item type
+     * @param <T>               the right item type
+     * @return true if the properties are equal (except the ignored ones), false if not
+     * @throws CloneException if something fails
+     */
+    public <S, T> boolean deepEquals(S right, T left, String... ignoredProperties) throws CloneException {
+        if (right != null) {
+            StaticCloner<S> staticCloner = staticClonerFor(right, left, right.getClass(), ignoredProperties);
+            if (staticCloner != null) return staticCloner.deepEquals(right, (S) left);
+        }
+
+        return beanComparators.equals(right, left, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Computes the changes from one object to another in a single traversal of both.
+     * {@link #deepPatch(Object, DeepDiff)} reproduces the after object (except the ignored properties) from the before object.
+     *
+     * @param before            the object before the changes, it has to be written as JSON object (not null)
+     * @param after             the object after the changes, it has to be written as JSON object (not null)
+     * @param ignoredProperties the property names which will be ignored, their changes are not contained
+     * @param <B>               the type of the object before the changes
+     * @param <A>               the type of the object after the changes
+     * @return the changes, empty if the objects equal deep
+     * @throws CloneException if something fails
+     */
+    public <B, A> DeepDiff deepDiff(B before, A after, String... ignoredProperties) throws CloneException {
+        return treeDiffer.diff(before, after, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Calculates a 64 bit fingerprint of the specified object which is consistent with
+     * {@link #deepEquals(Object, Object, String...)}: objects which equal deep (with the same ignored properties)
+     * have the same fingerprint. Use it to find the candidates for deepEquals by hash lookups.
+     * Fingerprints don't depend on the JVM instance, so they may be stored along with objects which didn't change.
+     *
+     * @param object            the object to be fingerprinted (may be null)
+     * @param ignoredProperties the property names which will be ignored, like for deepEquals
+     * @param <S>               the object type
+     * @return the fingerprint
+     * @throws CloneException if something fails
+     */
+    public <S> long deepHash(S object, String... ignoredProperties) throws CloneException {
+        return beanComparators.fingerprintOf(object, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Creates a deep clone of the specified object graph keeping its identities: objects referred to many times
+     * are cloned once and referred to by the clone as many times, cyclic references are reproduced.
+     * The values are copied directly, regardless of the engine's backends.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails, like a cycle through constructor arguments
+     */
+    public <T> T deepCloneGraph(T object, String... ignoredProperties) throws CloneException {
+        return deepCloneGraph(object, new CloneGraph(), ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object graph like {@link #deepCloneGraph(Object, String...)} does
+     * within a graph which may be reused: objects cloned within the graph before are not cloned again.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param graph             the clones by their source objects
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails, like a cycle through constructor arguments
+     */
+    public <T> T deepCloneGraph(T object, CloneGraph graph, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        JavaType targetType = nonFailingMapper.constructType(object.getClass());
+        return new GraphCloner(beanCloners, graph).clone(object, targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Creates a deep clone of the specified object graph like {@link #deepCloneGraph(Object, CloneGraph, String...)} does
+     * as a new instance of the specified {@link Class}
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param targetClass       the target {@link Class}
+     * @param graph             the clones by their source objects
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails, like a cycle through constructor arguments
+     */
+    public <T, S> T deepCloneGraph(S object, Class<T> targetClass, CloneGraph graph, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        JavaType targetType = nonFailingMapper.constructType(targetClass);
+        return new GraphCloner(beanCloners, graph).clone(object, targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, Class, String...)} does,
+     * with the target class and the ignored properties of a prepared spec
+     *
+     * @param object the specified object to be cloned (may be null)
+     * @param spec   the target class and the ignored properties
+     * @param <T>    the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T deepClone(Object object, CloneSpec<T> spec) throws CloneException {
+        if (object == null) return null;
+
+        return (T) spec.clonerFor(this).apply(object);
+    }
+
+    /**
+     * Clones and patches a specified object like {@link #deepPatch(Object, Object, Class, String...)} does,
+     * with the target class and the ignored properties of a prepared spec
+     *
+     * @param origin the source object to be cloned (may be null)
+     * @param patch  the patch which will be applied, its ignored properties are not applied
+     * @param spec   the target class and the ignored properties
+     * @param <C>    the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    @SuppressWarnings("unchecked")
+    public <C> C deepPatch(Object origin, Object patch, CloneSpec<C> spec) throws CloneException {
+        if (origin == null) return null;
+
+        Class<C> targetClass = spec.getTargetClass();
+        IgnoredProperties ignoredProperties = spec.compiledIgnoredProperties();
+
+        StaticCloner<C> staticCloner = staticClonerFor(origin, patch, targetClass, ignoredProperties);
+        if (staticCloner != null) return staticCloner.deepPatch((C) origin, (C) patch);
+
+        Map<String, Object> patchAsMap = toMap(patch, ignoredProperties);
+        return patchFromMap(origin, patchAsMap, targetClass);
+    }
+
+    /**
+     * Indicates if two specified objects equal deep like {@link #deepEquals(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param right the left object
+     * @param left  the right object
+     * @param spec  the ignored properties, its target class has to be a class of both objects
+     * @return true if the properties are equal (except the ignored ones), false if not
+     * @throws CloneException if something fails
+     */
+    @SuppressWarnings("unchecked")
+    public boolean deepEquals(Object right, Object left, CloneSpec<?> spec) throws CloneException {
+        spec.requireTargetOf(right);
+        spec.requireTargetOf(left);
+
+        IgnoredProperties ignoredProperties = spec.compiledIgnoredProperties();
+
+        if (right != null) {
+            StaticCloner<Object> staticCloner = staticClonerFor(right, left, right.getClass(), ignoredProperties);
+            if (staticCloner != null) return staticCloner.deepEquals(right, left);
+        }
+
+        return beanComparators.equals(right, left, ignoredProperties);
+    }
+
+    /**
+     * Clones the specified object into an existing target instead of a new instance, like a target kept for reuse.
+     * Nested beans and lists of the target are reused: beans are refilled the same way, lists are cleared and refilled.
+     * Properties which are null in the source are set to null, ignored properties are left as they are.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param target            the existing target, a bean created by its default creator
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @return the target or null if the specified object is null
+     * @throws CloneException if something fails, like a target created by its creator arguments
+     */
+    public <T> T cloneInto(Object object, T target, String... ignoredProperties) throws CloneException {
+        if (object == null) return null;
+
+        return inPlaceCloner.cloneInto(object, target, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Clones the specified object into an existing target like {@link #cloneInto(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param object the specified object to be cloned (may be null)
+     * @param target the existing target, a bean created by its default creator
+     * @param spec   the ignored properties, its target class has to be a class of the target
+     * @param <T>    the target class type
+     * @return the target or null if the specified object is null
+     * @throws CloneException if something fails, like a target created by its creator arguments
+     */
+    public <T> T cloneInto(Object object, T target, CloneSpec<? super T> spec) throws CloneException {
+        if (object == null) return null;
+
+        spec.requireTargetOf(target);
+
+        return inPlaceCloner.cloneInto(object, target, spec.compiledIgnoredProperties());
+    }
+
+    /**
+     * Patches the specified object in place like {@link #deepPatch(Object, Object, CloneSpec)} does, without cloning it:
+     * for objects owned by the caller, like a freshly loaded entity. Nested objects are merged, lists are appended to,
+     * so they have to be mutable.
+     * The patch is read into the origin property by property, so a failure leaves the origin partially patched:
+     * use {@link #deepPatch(Object, Object, CloneSpec)} if the origin has to survive a failing patch.
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null), its ignored properties are not applied
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param <S>    the origin type
+     * @return the patched origin
+     * @throws CloneException if something fails, the origin is undefined then
+     */
+    public <S> S patchInPlace(S origin, Object patch, CloneSpec<?> spec) throws CloneException {
+        return patchInPlace(origin, patch, spec, PatchMode.MERGE);
+    }
+
+    /**
+     * Patches the specified object in place without cloning it, the patch is read straight into its properties.
+     * The {@link PatchMode} selects the semantics of {@link #deepPatch(Object, Object, String...)} or
+     * {@link #patch(Object, Object, String...)}.
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null), its ignored properties are not applied
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param mode   merges or replaces the patched properties
+     * @param <S>    the origin type
+     * @return the patched origin
+     * @throws CloneException if something fails, the origin is undefined then
+     */
+    public <S> S patchInPlace(S origin, Object patch, CloneSpec<?> spec, PatchMode mode) throws CloneException {
+        if (origin == null || patch == null) return origin;
+
+        spec.requireTargetOf(origin);
+
+        ObjectReader reader = mode == PatchMode.MERGE
+                ? mergingMapper.readerForUpdating(origin)
+                : nonFailingMapper.readerForUpdating(origin);
+
+        try {
+            return tokenCloner.clone(patch, reader, spec.compiledIgnoredProperties());
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    /**
+     * Patches a specified object like {@link #deepPatch(Object, Object, String...)} does, copy-on-write: only the objects
+     * along the paths the patch changes are copied, all untouched values are shared with the origin.
+     * The cost depends on the size of the patch instead of the size of the origin.
+     * Neither the origin nor the result may be modified afterwards, they share their untouched values.
+     *
+     * @param origin            the object to be patched (may be null)
+     * @param patch             the patch which will be applied (may be null)
+     * @param ignoredProperties the property names of the patch which will not be applied
+     * @param <S>               the origin type
+     * @return the patched object, the origin itself if the patch doesn't change anything, or null if the origin is null
+     * @throws CloneException if something fails
+     */
+    public <S> S deepPatchSharing(S origin, Object patch, String... ignoredProperties) throws CloneException {
+        if (origin == null) return null;
+
+        return sharingPatcher.patch(origin, patch, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * Patches a specified object copy-on-write like {@link #deepPatchSharing(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null)
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param <S>    the origin type
+     * @return the patched object, the origin itself if the patch doesn't change anything, or null if the origin is null
+     * @throws CloneException if something fails
+     */
+    public <S> S deepPatchSharing(S origin, Object patch, CloneSpec<?> spec) throws CloneException {
+        if (origin == null) return null;
+
+        spec.requireTargetOf(origin);
+
+        return sharingPatcher.patch(origin, patch, spec.compiledIgnoredProperties());
+    }
+
+    /**
+     * @return the cloner a spec keeps for this engine, it resolves each source class once
+     */
+    Function<Object, Object> createCloner(CloneSpec<?> spec) {
+        JavaType targetType = nonFailingMapper.constructType(spec.getTargetClass());
+        return beanCloners.batch(targetType, spec.compiledIgnoredProperties());
+    }
+
+    <P, O> PatchPlan<P, O> createPatchPlan(Class<P> patchClass, Class<O> originClass, String... fields) {
+        return new PatchPlan<>(this, beanCloners, patchClass, originClass, fields);
+    }
+
+    private Function<Object, Object> batchClonerFor(Class<?> targetClass, String... ignoredProperties) {
+        JavaType targetType = nonFailingMapper.constructType(targetClass);
+        return beanCloners.batch(targetType, IgnoredProperties.of(ignoredProperties));
+    }
+
+    /**
+     * @return a function patching origins of the spec's target class like {@link #deepPatch(Object, Object, String...)} does
+     */
+    private Function<Object, Object> patcherFor(Object patch, CloneSpec<?> spec) throws CloneException {
+        Function<Object, Object> patcher = patcherFor(patch, spec.compiledIgnoredProperties());
+
+        return origin -> {
+            spec.requireTargetOf(origin);
+            return patcher.apply(origin);
+        };
+    }
+
+    /**
+     * @return a function patching origins like {@link #deepPatch(Object, Object, String...)} does,
+     * the patch is converted into a tree once for all of them
+     */
+    private Function<Object, Object> patcherFor(Object patch, IgnoredProperties ignoredProperties) throws CloneException {
+        JsonNode patchAsNode = patch == null ? nonNullMapper.createObjectNode() : toTree(patch, ignoredProperties);
+
+        return origin -> {
+            if (origin == null) return null;
+
+            StaticCloner<Object> staticCloner = staticClonerFor(origin, patch, origin.getClass(), ignoredProperties);
+            if (staticCloner != null) return staticCloner.deepPatch(origin, patch);
+
+            return patchFromNode(origin, patchAsNode, origin.getClass());
+        };
+    }
+
+    /**
+     * @return the patcher returning the failure of an origin instead of throwing it, see {@link #collectPatched(List)}
+     */
+    private static Function<Object, Object> reporting(Function<Object, Object> patcher) {
+        return origin -> {
+            try {
+                return patcher.apply(origin);
+            } catch (RuntimeException e) {
+                return new Failed(CloneException.wrap(e));
+            }
+        };
+    }
+
+    /**
+     * @throws PatchAllException if results failed
+     */
+    @SuppressWarnings("unchecked")
+    private static <S> List<S> collectPatched(List<Object> results) throws PatchAllException {
+        SortedMap<Integer, CloneException> failures = null;
+
+        for (int index = 0; index < results.size(); index++) {
+            Object result = results.get(index);
+            if (!(result instanceof Failed)) continue;
+
+            if (failures == null) failures = new TreeMap<>();
+            failures.put(index, ((Failed) result).exception);
+            results.set(index, null);
+        }
+
+        if (failures != null) throw new PatchAllException(results, failures);
+
+        return (List<S>) results;
+    }
+
+    /**
+     * Merges the patch into the origin by JSON trees like {@link #deepPatch(Object, Object, Class, String...)} does
+     * for properties: for the values the generated cloners, the {@link SharingPatcher} and {@link PatchPlan}s
+     * cannot copy by their properties
+     */
+    Object mergeValue(Object origin, Object patch, Type targetType, IgnoredProperties ignoredProperties) throws CloneException {
+        JsonNode originAsNode = nonNullMapper.valueToTree(origin);
+        JsonNode patchAsNode = toTree(patch, ignoredProperties);
+        ObjectReader reader = nonFailingMapper.readerFor(nonFailingMapper.constructType(targetType));
+
+        try {
+            if (originAsNode.isObject() && patchAsNode.isObject()) {
+                nonNullMapper.readerForUpdating(originAsNode).readValue(patchAsNode);
+                return reader.readValue(originAsNode);
+            }
+
+            return reader.readValue(patchAsNode);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    /**
+     * @return the generated cloner if the specified objects and the target share the same annotated type,
+     * the generated backend is selected for it and this engine maps like the default engine
+     */
+    private <T> StaticCloner<T> staticClonerFor(Object object, Object other, Class<?> targetClass, String... ignoredProperties) {
+        if (ignoredProperties != null && ignoredProperties.length > 0) return null;
+        return staticClonerFor(object, other, targetClass, IgnoredProperties.NONE);
+    }
+
+    private <T> StaticCloner<T> staticClonerFor(Object object, Object other, Class<?> targetClass, IgnoredProperties ignoredProperties) {
+        if (!ignoredProperties.isEmpty()) return null;
+        if (other == null || object.getClass() != targetClass || other.getClass() != targetClass) return null;
+        if (!mapsLikeDefault) return null;
+        if (backends.select(targetClass, targetClass) != BuiltInBackend.GENERATED) return null;
+
+        return StaticCloners.find(targetClass);
+    }
+
+    /**
+     * Serializes the object without its ignored properties straight into a map
+     */
+    private <S> Map<String, Object> toMap(S object, String... ignoredProperties) throws CloneException {
+        return toMap(object, IgnoredProperties.of(ignoredProperties));
+    }
+
+    private <S> Map<String, Object> toMap(S object, IgnoredProperties ignoredProperties) throws CloneException {
+        ObjectWriter writer = IgnoredPropertiesModule.ignoring(nonNullMapper.writer(), ignoredProperties);
+        TokenBuffer objectAsTokens = new TokenBuffer(nonNullMapper, false);
+
+        try {
+            writer.writeValue(objectAsTokens, object);
+            return nonFailingMapper.readValue(objectAsTokens.asParser(nonFailingMapper), Map.class);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private JsonNode toTree(Object object, IgnoredProperties ignoredProperties) throws CloneException {
+        ObjectWriter writer = IgnoredPropertiesModule.ignoring(nonNullMapper.writer(), ignoredProperties);
+        TokenBuffer objectAsTokens = new TokenBuffer(nonNullMapper, false);
+
+        try {
+            writer.writeValue(objectAsTokens, object);
+            return nonFailingMapper.readTree(objectAsTokens.asParser(nonFailingMapper));
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private <S> Map<String, Object> toMapFilteredBy(S object, String... allowedKeys) throws CloneException {
+        JsonNode objectAsNode = nonNullMapper.valueToTree(object);
+        Map<String, Object> objectAsMap;
+
+        try {
+            objectAsMap = nonFailingMapper.treeToValue(objectAsNode, Map.class);
+        } catch (JsonProcessingException e) {
+            throw new CloneException(e);
+        }
+
+        Map<String, Object> filteredMap = new HashMap<>();
+        for (String allowedKey : allowedKeys) {
+            Object allowedValue = objectAsMap.get(allowedKey);
+            filteredMap.put(allowedKey, allowedValue);
+        }
+
+        return filteredMap;
+    }
+
+    private <T> T patchFromMap(T origin, Map<String, Object> patchAsMap) {
+        JsonNode patchAsNode = nonNullMapper.valueToTree(patchAsMap);
+        JsonNode originAsNode = nonNullMapper.valueToTree(origin);
+
+        try {
+            nonNullMapper.readerForUpdating(originAsNode).readValue(patchAsNode);
+            return (T) nonFailingMapper.treeToValue(originAsNode, origin.getClass());
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private <T, C> C patchFromMap(T origin, Map<String, Object> patchAsMap, Class<C> targetClass) {
+        return patchFromNode(origin, nonNullMapper.valueToTree(patchAsMap), targetClass);
+    }
+
+    private <T, C> C patchFromNode(T origin, JsonNode patchAsNode, Class<C> targetClass) {
+        JsonNode originAsNode = nonNullMapper.valueToTree(origin);
+
+        try {
+            nonNullMapper.readerForUpdating(originAsNode).readValue(patchAsNode);
+            return nonFailingMapper.treeToValue(originAsNode, targetClass);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private <T, P, C> C patch(T origin, P patch, Class<C> targetClass) {
+        JsonNode patchAsNode = nonNullMapper.valueToTree(patch);
+
+        try {
+            nonFailingMapper.readerForUpdating(origin).readValue(patchAsNode);
+            JsonNode originAsNode = nonNullMapper.valueToTree(origin);
+
+            return nonFailingMapper.treeToValue(originAsNode, targetClass);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    /**
+     * The failure of one origin of a bulk patch
+     */
+    private static class Failed {
+        private final CloneException exception;
+
+        private Failed(CloneException exception) {
+            this.exception = exception;
+        }
+    }
+
+    /**
+     * Configures a new {@link CloneEngine}. Modules and features are applied to the engine's {@link ObjectMapper}s
+     * after its own configuration, so they may override it.
+     */
+    public static class Builder {
+        private final List<Consumer<ObjectMapper>> configurations = new ArrayList<>();
+        private final List<Class<?>> immutableTypes = new ArrayList<>();
+        private final Map<Class<?>, CloneBackend> classBackends = new HashMap<>();
+        private final List<CloneBackend> candidates = new ArrayList<>();
+        private ForkJoinPool pool;
+        private CloneBackend backend = CloneBackends.generated();
+        private int samples = 32;
+
+        private Builder() {
+        }
+
+        public Builder registerModule(Module module) {
+            configurations.add(mapper -> mapper.registerModule(module));
+            return this;
+        }
+
+        public Builder configure(SerializationFeature feature, boolean state) {
+            configurations.add(mapper -> mapper.configure(feature, state));
+            return this;
+        }
+
+        public Builder configure(DeserializationFeature feature, boolean state) {
+            configurations.add(mapper -> mapper.configure(feature, state));
+            return this;
+        }
+
+        public Builder configure(MapperFeature feature, boolean state) {
+            configurations.add(mapper -> mapper.configure(feature, state));
+            return this;
+        }
+
+        /**
+         * Registers a class whose instances cannot be modified after creation: its values will be shared
+         * between origin and clone instead of being copied. Strings, boxed primitives, {@link java.math.BigDecimal},
+         * {@link java.math.BigInteger}, {@link java.util.UUID}, java.time values and enums are known immutable already.
+         * The immutable types are fixed once the engine is built, Jackson caches its (de)serializers by type.
+         *
+         * @param type the immutable class, subclasses are not included
+         */
+        public Builder registerImmutableType(Class<?> type) {
+            immutableTypes.add(type);
+            return this;
+        }
+
+        /**
+         * @param pool the pool for the parallel operations which get no pool passed, the common pool by default
+         */
+        public Builder pool(ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Generated cloners (see {@link GenerateCloner}) don't know the engine they are used by: they clone values
+         * of types they don't know by {@link CloneUtils}. Select another backend if the engine's modules or features
+         * change the way annotated classes are cloned.
+         *
+         * @param backend the backend for all classes without their own backend, {@link CloneBackends#generated()} by default
+         */
+        public Builder backend(CloneBackend backend) {
+            this.backend = Objects.requireNonNull(backend);
+            return this;
+        }
+
+        /**
+         * Selects the backend for the values of a class. The backend of the source class wins over the one
+         * of the target class, nested values get the backends selected for their own classes.
+         *
+         * @param type    the exact class, subclasses are not included
+         * @param backend the backend for its values
+         */
+        public Builder backend(Class<?> type, CloneBackend backend) {
+            classBackends.put(type, Objects.requireNonNull(backend));
+            return this;
+        }
+
+        /**
+         * Lets the engine choose the backend per source/target class pair. Candidates which don't pass their static
+         * eligibility rules for a class pair (like the generated backend for a class without generated cloner
+         * or the reflective backend for a polymorphic class) are skipped, the remaining ones are measured while
+         * cloning the first values of the class pair and the fastest is promoted, see {@link CloneEngine#getBackendDecisions()}.
+         * Class pairs with a backend selected per class aren't decided.
+         *
+         * @param candidates the candidates by their expected speed, like generated, reflective, jackson
+         */
+        public Builder adaptive(CloneBackend... candidates) {
+            if (candidates.length == 0) {
+                throw new IllegalArgumentException("An adaptive engine needs candidates");
+            }
+
+            this.candidates.clear();
+            this.candidates.addAll(Arrays.asList(candidates));
+            return this;
+        }
+
+        /**
+         * @param samples the measured values per candidate and class pair (32 by default),
+         *                0 to promote the first eligible candidate without measuring
+         */
+        public Builder adaptiveSamples(int samples) {
+            if (samples < 0) {
+                throw new IllegalArgumentException("Samples must not be negative: " + samples);
+            }
+
+            this.samples = samples;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if an immutable type cannot be immutable
+         */
+        public CloneEngine build() {
+            return new CloneEngine(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.borisskert.cloneutils;
+
+public class CloneException extends RuntimeException {
+    CloneException(String message) {
+        super(message);
+    }
+
+    CloneException(Throwable cause) {
+        super(cause);
+    }
+
+    CloneException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @return the exception itself if it's a CloneException already, else the exception wrapped into one
+     */
+    static CloneException wrap(RuntimeException exception) {
+        if (exception instanceof CloneException) return (CloneException) exception;
+
+        return new CloneException(exception);
+    }
+}
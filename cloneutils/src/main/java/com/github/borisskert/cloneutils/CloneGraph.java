@@ -0,0 +1,90 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The clones made by a graph clone (see {@link CloneEngine#deepCloneGraph(Object, CloneGraph, String...)}) by
+ * the identity of their source objects. Objects referred to many times are cloned once, cyclic references
+ * are reproduced.
+ * <p>
+ * Reuse a graph to clone many roots sharing objects, like the aggregates of one unit of work, or {@link #clear()}
+ * it to clone an unrelated graph without allocating a new map. Clear it after a failed clone as well, it may contain
+ * unfinished clones. A graph is not thread-safe.
+ */
+public final class CloneGraph {
+    private final Map<Object, Entry> clones = new IdentityHashMap<>();
+
+    /**
+     * @return the number of cloned objects
+     */
+    public int size() {
+        return clones.size();
+    }
+
+    public void clear() {
+        clones.clear();
+    }
+
+    /**
+     * @param source the source object
+     * @return the clone of the source object made within this graph or null if it's not cloned (yet)
+     */
+    public Object getClone(Object source) {
+        Entry entry = clones.get(source);
+        return entry == null ? null : entry.clone;
+    }
+
+    /**
+     * @return the clone of the source as the target type with the ignored properties,
+     * the entry in progress if it's still being cloned or null if there is none
+     */
+    Entry find(Object source, JavaType targetType, IgnoredProperties ignoredProperties) {
+        for (Entry entry = clones.get(source); entry != null; entry = entry.next) {
+            if (entry.ignoredProperties == ignoredProperties && entry.targetType.equals(targetType)) return entry;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the entry in progress which receives the clone as soon as it's created
+     */
+    Entry start(Object source, JavaType targetType, IgnoredProperties ignoredProperties) {
+        Entry entry = new Entry(targetType, ignoredProperties, clones.get(source));
+        clones.put(source, entry);
+
+        return entry;
+    }
+
+    /**
+     * The same source may be cloned into different target types or with different ignored properties,
+     * like a value which is referred to by properties with different ignored properties
+     */
+    static class Entry {
+        private final JavaType targetType;
+        private final IgnoredProperties ignoredProperties;
+        private final Entry next;
+        private Object clone;
+
+        private Entry(JavaType targetType, IgnoredProperties ignoredProperties, Entry next) {
+            this.targetType = targetType;
+            this.ignoredProperties = ignoredProperties;
+            this.next = next;
+        }
+
+        boolean isInProgress() {
+            return clone == null;
+        }
+
+        Object getClone() {
+            return clone;
+        }
+
+        void complete(Object clone) {
+            this.clone = clone;
+        }
+    }
+}
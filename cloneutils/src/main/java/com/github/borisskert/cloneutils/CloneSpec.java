@@ -0,0 +1,157 @@
+package com.github.borisskert.cloneutils;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * The target class and the ignored properties of a clone, built once and used for many calls:
+ * <pre>
+ * private static final CloneSpec&lt;TestObject&gt; WITHOUT_INNER_STRING = CloneSpec.of(TestObject.class)
+ *         .ignore("innerTestObjectProperty.stringProperty")
+ *         .build();
+ * </pre>
+ * The ignore patterns are compiled when it's built, the cloner for its target type is resolved by the first clone
+ * of each engine and kept for it, so hot call sites skip both. Specs are immutable and thread-safe,
+ * they are equal if their target classes and ignore patterns are, so they may be used as cache keys.
+ * <p>
+ * Calls which don't create clones, like deepEquals or patchInPlace, apply the ignore patterns only.
+ * They check that their objects are of the target class, so a spec isn't used for other classes by mistake.
+ *
+ * @param <T> the target type
+ */
+public final class CloneSpec<T> {
+    private final Class<T> targetClass;
+    private final List<String> ignoredProperties;
+    private final IgnoredProperties compiledIgnoredProperties;
+
+    /**
+     * The cloners by the engines they were created by, without keeping the engines alive
+     */
+    private final Map<CloneEngine, Function<Object, Object>> cloners = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The cloner used last, so a spec used by one engine skips the lookup. Replaced as a whole,
+     * so concurrent threads see either the old or the new resolution. It doesn't keep its engine alive either
+     */
+    private volatile Resolution resolution;
+
+    private CloneSpec(Builder<T> builder) {
+        this.targetClass = builder.targetClass;
+        this.ignoredProperties = Collections.unmodifiableList(new ArrayList<>(builder.ignoredProperties));
+        this.compiledIgnoredProperties = IgnoredProperties.of(ignoredProperties.toArray(new String[0]));
+    }
+
+    /**
+     * @param targetClass the class of the clones
+     * @param <T>         the target type
+     * @return a builder for a spec
+     */
+    public static <T> Builder<T> of(Class<T> targetClass) {
+        return new Builder<>(Objects.requireNonNull(targetClass));
+    }
+
+    public Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    /**
+     * @return the ignore patterns in the order they were added
+     */
+    public List<String> getIgnoredProperties() {
+        return ignoredProperties;
+    }
+
+    IgnoredProperties compiledIgnoredProperties() {
+        return compiledIgnoredProperties;
+    }
+
+    /**
+     * @throws CloneException if the value isn't null and not of the target class
+     */
+    void requireTargetOf(Object value) throws CloneException {
+        if (value != null && !targetClass.isInstance(value)) {
+            throw new CloneException("The spec of " + targetClass.getName() + " doesn't apply to a " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * @return the cloner of the engine for this spec, created by the engine if it's used the first time
+     */
+    Function<Object, Object> clonerFor(CloneEngine engine) {
+        Resolution resolution = this.resolution;
+
+        if (resolution != null && resolution.engine.get() == engine) {
+            // kept alive by the cloners as long as the engine
+            Function<Object, Object> cloner = resolution.cloner.get();
+            if (cloner != null) return cloner;
+        }
+
+        Function<Object, Object> cloner = cloners.computeIfAbsent(engine, key -> key.createCloner(this));
+        this.resolution = new Resolution(engine, cloner);
+
+        return cloner;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CloneSpec<?> cloneSpec = (CloneSpec<?>) o;
+        return targetClass.equals(cloneSpec.targetClass) &&
+                ignoredProperties.equals(cloneSpec.ignoredProperties);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetClass, ignoredProperties);
+    }
+
+    @Override
+    public String toString() {
+        return "CloneSpec{" +
+                "targetClass=" + targetClass.getName() +
+                ", ignoredProperties=" + ignoredProperties +
+                '}';
+    }
+
+    private static class Resolution {
+        private final WeakReference<CloneEngine> engine;
+        private final WeakReference<Function<Object, Object>> cloner;
+
+        private Resolution(CloneEngine engine, Function<Object, Object> cloner) {
+            this.engine = new WeakReference<>(engine);
+            this.cloner = new WeakReference<>(cloner);
+        }
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> targetClass;
+        private final List<String> ignoredProperties = new ArrayList<>();
+
+        private Builder(Class<T> targetClass) {
+            this.targetClass = targetClass;
+        }
+
+        /**
+         * @param ignoredProperties the property names which will be ignored, see {@link CloneEngine} for the patterns
+         */
+        public Builder<T> ignore(String... ignoredProperties) {
+            this.ignoredProperties.addAll(Arrays.asList(ignoredProperties));
+            return this;
+        }
+
+        /**
+         * @throws CloneException if an ignore pattern is malformed
+         */
+        public CloneSpec<T> build() {
+            return new CloneSpec<>(this);
+        }
+    }
+}
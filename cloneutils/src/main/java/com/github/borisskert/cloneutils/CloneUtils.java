@@ -0,0 +1,612 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Utility class to clone Plain Old Java Objects (POJOs).
+ * Attention: this class uses jackson's {@link com.fasterxml.jackson.databind.ObjectMapper}
+ * <p>
+ * All operations are executed by a default {@link CloneEngine}, create your own engine to configure them.
+ * <p>
+ * Ignored properties are dotted paths like "inner.name" and may contain wildcards: "*" matches any single
+ * property name, "**" any number of property levels and "[*]" the elements of an array,
+ * like "**.id", "*.audit.*" or "items[*].internalNotes". A backslash escapes "[", "]", "*" and itself within
+ * a property name, like "price\\[EUR\\]" for the map key "price[EUR]". Malformed patterns throw a {@link CloneException}.
+ */
+public class CloneUtils {
+    static final CloneEngine DEFAULT_ENGINE = CloneEngine.builder().build();
+
+    /**
+     * Prevent instance creation
+     */
+    private CloneUtils() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return the engine executing the operations of this class
+     */
+    public static CloneEngine defaultEngine() {
+        return DEFAULT_ENGINE;
+    }
+
+    /**
+     * Creates an deep clone of the specified object which will be returned as a new instance of the specified {@link Class}
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T, S> T deepClone(S object, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepClone(object, targetClass, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the common {@link ForkJoinPool}.
+     * Use it for single objects holding lists with very many elements.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T> T deepCloneParallel(T object, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneParallel(object, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the specified {@link ForkJoinPool}.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param pool              the pool which clones the list elements
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T> T deepCloneParallel(T object, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneParallel(object, pool, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, Class, String...)} does, but clones
+     * the elements of large lists in parallel chunks within the specified {@link ForkJoinPool}.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param targetClass       the target {@link Class}
+     * @param pool              the pool which clones the list elements
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T, S> T deepCloneParallel(S object, Class<T> targetClass, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneParallel(object, targetClass, pool, ignoredProperties);
+    }
+
+    /**
+     * Creates deep clones of all specified objects as new instances of the specified {@link Class}.
+     * Faster than cloning them one by one: the way to clone them is resolved once for all objects of the same class.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException if something fails
+     */
+    public static <T, S> List<T> deepCloneAll(Collection<S> objects, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneAll(objects, targetClass, ignoredProperties);
+    }
+
+    /**
+     * Creates deep clones of the streamed objects as new instances of the specified {@link Class}, like
+     * {@link #deepCloneAll(Collection, Class, String...)} does. The stream may be parallel.
+     *
+     * @param objects           the stream of objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the stream of clones, a {@link CloneException} will be thrown by its terminal operation
+     */
+    public static <T, S> Stream<T> deepCloneAll(Stream<S> objects, Class<T> targetClass, String... ignoredProperties) {
+        return DEFAULT_ENGINE.deepCloneAll(objects, targetClass, ignoredProperties);
+    }
+
+    /**
+     * Creates deep clones of all specified objects like {@link #deepCloneAll(Collection, Class, String...)} does,
+     * but within the common {@link ForkJoinPool}.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException of the first object (by order) which failed
+     */
+    public static <T, S> List<T> deepCloneAllParallel(Collection<S> objects, Class<T> targetClass, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneAllParallel(objects, targetClass, ignoredProperties);
+    }
+
+    /**
+     * Creates deep clones of all specified objects like {@link #deepCloneAll(Collection, Class, String...)} does,
+     * but within the specified {@link ForkJoinPool}. The objects are split into tasks according to the measured
+     * cost of cloning them.
+     *
+     * @param objects           the objects to be cloned (may contain null)
+     * @param targetClass       the target {@link Class}
+     * @param pool              the pool which clones the objects
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @param <S>               the source class type
+     * @return the clones in the order of the specified objects, null for each null object
+     * @throws CloneException of the first object (by order) which failed
+     */
+    public static <T, S> List<T> deepCloneAllParallel(Collection<S> objects, Class<T> targetClass, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneAllParallel(objects, targetClass, pool, ignoredProperties);
+    }
+
+    /**
+     * Creates an deep clone of the specified object which will be returned as new instance same type
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T> T deepClone(T object, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepClone(object, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches a specified object and return a new instance same type
+     *
+     * @param origin            the object to be cloned (may be null)
+     * @param patch             the patch which will be applied
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return a new instance of the cloned and patched object
+     * @throws CloneException if something fails
+     */
+    public static <T, S> S deepPatch(S origin, T patch, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatch(origin, patch, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches a specified object and return a new instance of the specified {@link Class}
+     *
+     * @param origin            the source object to be cloned (may be null)
+     * @param patch             the patch which will be applied
+     * @param targetClass       the target type as {@link Class}
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source class type
+     * @param <C>               the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T, S, C> C deepPatch(S origin, T patch, Class<C> targetClass, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatch(origin, patch, targetClass, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does,
+     * but within the common {@link ForkJoinPool}. A failing object doesn't stop the others,
+     * the failures are reported together by their indexes.
+     *
+     * @param origins           the objects to be cloned (may contain null)
+     * @param patch             the patch which will be applied to each of them
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public static <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchAllParallel(origins, patch, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does,
+     * but within the specified {@link ForkJoinPool}. The objects are split into tasks according to the measured
+     * cost of patching them. A failing object doesn't stop the others, the failures are reported together
+     * by their indexes.
+     *
+     * @param origins           the objects to be cloned (may contain null)
+     * @param patch             the patch which will be applied to each of them
+     * @param pool              the pool which patches the objects
+     * @param ignoredProperties the property names to be ignored during cloning
+     * @param <T>               the patch type
+     * @param <S>               the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public static <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, ForkJoinPool pool, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchAllParallel(origins, patch, pool, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches all specified objects with the same patch like {@link #deepPatch(Object, Object, String...)} does.
+     * The patch is converted once for all objects. A failing object doesn't stop the others, the failures are
+     * reported together by their indexes.
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public static <T, S> List<S> deepPatchAll(Collection<S> origins, T patch, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchAll(origins, patch, spec);
+    }
+
+    /**
+     * Clones and patches all specified objects like {@link #deepPatchAll(Collection, Object, CloneSpec)} does,
+     * but within the pool of the default engine
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public static <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchAllParallel(origins, patch, spec);
+    }
+
+    /**
+     * Clones and patches all specified objects like {@link #deepPatchAll(Collection, Object, CloneSpec)} does,
+     * but within the specified {@link ForkJoinPool}
+     *
+     * @param origins the objects to be cloned (may contain null)
+     * @param patch   the patch which will be applied to each of them
+     * @param pool    the pool which patches the objects
+     * @param spec    the ignored properties of the patch, its target class has to be a class of the origins, origins of other classes fail
+     * @param <T>     the patch type
+     * @param <S>     the source object type
+     * @return the cloned and patched objects in the order of the specified objects, null for each null object
+     * @throws PatchAllException if objects failed, it contains the results of all other objects
+     */
+    public static <T, S> List<S> deepPatchAllParallel(Collection<S> origins, T patch, ForkJoinPool pool, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchAllParallel(origins, patch, pool, spec);
+    }
+
+    /**
+     * Clones a specified object and applies many patches in their order, like nested calls of
+     * {@link #deepPatch(Object, Object, String...)} do. The patches are folded into one by the same deep merge first,
+     * so the object is cloned and patched once instead of once per patch. Both ways are equal for patches which
+     * agree on the types of their properties.
+     *
+     * @param origin            the source object to be cloned (may be null)
+     * @param patches           the patches which will be applied in their order (may contain null)
+     * @param ignoredProperties the property names of the patches which will not be applied
+     * @param <S>               the source object type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <S> S deepPatchFolded(S origin, List<?> patches, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchFolded(origin, patches, ignoredProperties);
+    }
+
+    /**
+     * Clones a specified object and applies the changes of a {@link DeepDiff}: properties are added, replaced and removed,
+     * array elements are addressed by their index (unlike the other patches, which append them)
+     *
+     * @param origin the object to be cloned (may be null), usually the object the diff has been created from
+     * @param diff   the changes to be applied
+     * @param <S>    the source and target type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails, like a changed path which the origin doesn't contain
+     */
+    public static <S> S deepPatch(S origin, DeepDiff diff) throws CloneException {
+        return DEFAULT_ENGINE.deepPatch(origin, diff);
+    }
+
+    /**
+     * Clones a specified object, applies the changes of a {@link DeepDiff} and returns a new instance of the specified {@link Class}
+     *
+     * @param origin      the object to be cloned (may be null), usually the object the diff has been created from
+     * @param diff        the changes to be applied
+     * @param targetClass the target type as {@link Class}
+     * @param <S>         the source object type
+     * @param <C>         the target object type
+     * @return a new instance of the cloned and patched object or null if the specified object is null
+     * @throws CloneException if something fails, like a changed path which the origin doesn't contain
+     * @see #deepPatch(Object, DeepDiff)
+     */
+    public static <S, C> C deepPatch(S origin, DeepDiff diff, Class<C> targetClass) throws CloneException {
+        return DEFAULT_ENGINE.deepPatch(origin, diff, targetClass);
+    }
+
+    /**
+     * This patch will not merge list properties
+     */
+    public static <T, S, C> C patch(S origin, T patch, Class<C> targetClass, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.patch(origin, patch, targetClass, ignoredProperties);
+    }
+
+    /**
+     * This patch will not merge list properties
+     */
+    public static <T, S> S patch(S origin, T patch, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.patch(origin, patch, ignoredProperties);
+    }
+
+    /**
+     * Clones and patches fields only of a specified object and return a new instance same type
+     *
+     * @param origin         the object to be cloned (may be null)
+     * @param patch          the patch to be applied
+     * @param onlyThisFields property names which will be patched
+     * @param <T>            the patch type
+     * @param <S>            the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T, S> S deepPatchFieldsOnly(S origin, T patch, String... onlyThisFields) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchFieldsOnly(origin, patch, onlyThisFields);
+    }
+
+    /**
+     * Clones and patches fields only of a specified object and return a new instance of the specified {@link Class}
+     *
+     * @param origin         the object to be cloned (may be null)
+     * @param patch          the patch to be applied
+     * @param targetClass    the target type as {@link Class}
+     * @param onlyThisFields property names which will be patched
+     * @param <T>            the patch type
+     * @param <S>            the source object type
+     * @param <C>            the target object type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T, S, C> C deepPatchFieldsOnly(S origin, T patch, Class<C> targetClass, String... onlyThisFields) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchFieldsOnly(origin, patch, targetClass, onlyThisFields);
+    }
+
+    /**
+     * Indicates if two specified objects equal deep: if their JSON representations would be equal.
+     * The objects are compared side by side and the comparison stops at the first difference.
+     *
+     * @param right             the left object
+     * @param left              the right object
+     * @param ignoredProperties the property names which will be ignored during the check
+     * @param <S>               the left item type
+     * @param <T>               the right item type
+     * @return true if the properties are equal (except the ignored ones), false if not
+     * @throws CloneException if something fails
+     */
+    public static <S, T> boolean deepEquals(S right, T left, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepEquals(right, left, ignoredProperties);
+    }
+
+    /**
+     * Computes the changes from one object to another in a single traversal of both.
+     * {@link #deepPatch(Object, DeepDiff)} reproduces the after object (except the ignored properties) from the before object.
+     *
+     * @param before            the object before the changes, it has to be written as JSON object (not null)
+     * @param after             the object after the changes, it has to be written as JSON object (not null)
+     * @param ignoredProperties the property names which will be ignored, their changes are not contained
+     * @param <B>               the type of the object before the changes
+     * @param <A>               the type of the object after the changes
+     * @return the changes, empty if the objects equal deep
+     * @throws CloneException if something fails
+     */
+    public static <B, A> DeepDiff deepDiff(B before, A after, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepDiff(before, after, ignoredProperties);
+    }
+
+    /**
+     * Calculates a 64 bit fingerprint of the specified object which is consistent with
+     * {@link #deepEquals(Object, Object, String...)}: objects which equal deep (with the same ignored properties)
+     * have the same fingerprint. Use it to find the candidates for deepEquals by hash lookups.
+     * Fingerprints don't depend on the JVM instance, so they may be stored along with objects which didn't change.
+     *
+     * @param object            the object to be fingerprinted (may be null)
+     * @param ignoredProperties the property names which will be ignored, like for deepEquals
+     * @param <S>               the object type
+     * @return the fingerprint
+     * @throws CloneException if something fails
+     */
+    public static <S> long deepHash(S object, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepHash(object, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object graph keeping its identities: objects referred to many times
+     * are cloned once and referred to by the clone as many times, cyclic references are reproduced.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails, like a cycle through constructor arguments
+     */
+    public static <T> T deepCloneGraph(T object, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneGraph(object, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object graph like {@link #deepCloneGraph(Object, String...)} does
+     * within a graph which may be reused: objects cloned within the graph before are not cloned again.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param graph             the clones by their source objects
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the source and target type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails, like a cycle through constructor arguments
+     */
+    public static <T> T deepCloneGraph(T object, CloneGraph graph, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepCloneGraph(object, graph, ignoredProperties);
+    }
+
+    /**
+     * Creates a deep clone of the specified object like {@link #deepClone(Object, Class, String...)} does,
+     * with the target class and the ignored properties of a prepared spec
+     *
+     * @param object the specified object to be cloned (may be null)
+     * @param spec   the target class and the ignored properties
+     * @param <T>    the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <T> T deepClone(Object object, CloneSpec<T> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepClone(object, spec);
+    }
+
+    /**
+     * Clones and patches a specified object like {@link #deepPatch(Object, Object, Class, String...)} does,
+     * with the target class and the ignored properties of a prepared spec
+     *
+     * @param origin the source object to be cloned (may be null)
+     * @param patch  the patch which will be applied, its ignored properties are not applied
+     * @param spec   the target class and the ignored properties
+     * @param <C>    the target class type
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public static <C> C deepPatch(Object origin, Object patch, CloneSpec<C> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepPatch(origin, patch, spec);
+    }
+
+    /**
+     * Indicates if two specified objects equal deep like {@link #deepEquals(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param right the left object
+     * @param left  the right object
+     * @param spec  the ignored properties, its target class has to be a class of both objects
+     * @return true if the properties are equal (except the ignored ones), false if not
+     * @throws CloneException if something fails
+     */
+    public static boolean deepEquals(Object right, Object left, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepEquals(right, left, spec);
+    }
+
+    /**
+     * Clones the specified object into an existing target instead of a new instance, like a target kept for reuse.
+     * Nested beans and lists of the target are reused: beans are refilled the same way, lists are cleared and refilled.
+     * Properties which are null in the source are set to null, ignored properties are left as they are.
+     *
+     * @param object            the specified object to be cloned (may be null)
+     * @param target            the existing target, a bean created by its default creator
+     * @param ignoredProperties the property names which will be ignored during cloning
+     * @param <T>               the target class type
+     * @return the target or null if the specified object is null
+     * @throws CloneException if something fails, like a target created by its creator arguments
+     */
+    public static <T> T cloneInto(Object object, T target, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.cloneInto(object, target, ignoredProperties);
+    }
+
+    /**
+     * Clones the specified object into an existing target like {@link #cloneInto(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param object the specified object to be cloned (may be null)
+     * @param target the existing target, a bean created by its default creator
+     * @param spec   the ignored properties, its target class has to be a class of the target
+     * @param <T>    the target class type
+     * @return the target or null if the specified object is null
+     * @throws CloneException if something fails, like a target created by its creator arguments
+     */
+    public static <T> T cloneInto(Object object, T target, CloneSpec<? super T> spec) throws CloneException {
+        return DEFAULT_ENGINE.cloneInto(object, target, spec);
+    }
+
+    /**
+     * Patches the specified object in place like {@link #deepPatch(Object, Object, CloneSpec)} does, without cloning it:
+     * for objects owned by the caller, like a freshly loaded entity. Nested objects are merged, lists are appended to,
+     * so they have to be mutable.
+     * The patch is read into the origin property by property, so a failure leaves the origin partially patched:
+     * use {@link #deepPatch(Object, Object, CloneSpec)} if the origin has to survive a failing patch.
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null), its ignored properties are not applied
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param <S>    the origin type
+     * @return the patched origin
+     * @throws CloneException if something fails, the origin is undefined then
+     */
+    public static <S> S patchInPlace(S origin, Object patch, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.patchInPlace(origin, patch, spec);
+    }
+
+    /**
+     * Patches the specified object in place without cloning it, the patch is read straight into its properties.
+     * The {@link PatchMode} selects the semantics of {@link #deepPatch(Object, Object, String...)} or
+     * {@link #patch(Object, Object, String...)}.
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null), its ignored properties are not applied
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param mode   merges or replaces the patched properties
+     * @param <S>    the origin type
+     * @return the patched origin
+     * @throws CloneException if something fails, the origin is undefined then
+     */
+    public static <S> S patchInPlace(S origin, Object patch, CloneSpec<?> spec, PatchMode mode) throws CloneException {
+        return DEFAULT_ENGINE.patchInPlace(origin, patch, spec, mode);
+    }
+
+    /**
+     * Patches a specified object like {@link #deepPatch(Object, Object, String...)} does, copy-on-write: only the objects
+     * along the paths the patch changes are copied, all untouched values are shared with the origin.
+     * The cost depends on the size of the patch instead of the size of the origin.
+     * Neither the origin nor the result may be modified afterwards, they share their untouched values.
+     *
+     * @param origin            the object to be patched (may be null)
+     * @param patch             the patch which will be applied (may be null)
+     * @param ignoredProperties the property names of the patch which will not be applied
+     * @param <S>               the origin type
+     * @return the patched object, the origin itself if the patch doesn't change anything, or null if the origin is null
+     * @throws CloneException if something fails
+     */
+    public static <S> S deepPatchSharing(S origin, Object patch, String... ignoredProperties) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchSharing(origin, patch, ignoredProperties);
+    }
+
+    /**
+     * Patches a specified object copy-on-write like {@link #deepPatchSharing(Object, Object, String...)} does,
+     * with the ignored properties of a prepared spec
+     *
+     * @param origin the object to be patched (may be null)
+     * @param patch  the patch which will be applied (may be null)
+     * @param spec   the ignored properties, its target class has to be a class of the origin
+     * @param <S>    the origin type
+     * @return the patched object, the origin itself if the patch doesn't change anything, or null if the origin is null
+     * @throws CloneException if something fails
+     */
+    public static <S> S deepPatchSharing(S origin, Object patch, CloneSpec<?> spec) throws CloneException {
+        return DEFAULT_ENGINE.deepPatchSharing(origin, patch, spec);
+    }
+
+    /**
+     * Merges the patch into the origin like {@link #deepPatch(Object, Object, Class, String...)} does for properties
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T mergeValue(T origin, T patch, Class<T> targetClass) throws CloneException {
+        return (T) DEFAULT_ENGINE.mergeValue(origin, patch, targetClass, IgnoredProperties.NONE);
+    }
+}
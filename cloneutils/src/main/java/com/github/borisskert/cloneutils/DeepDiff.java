@@ -0,0 +1,211 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The changes between two objects as created by {@link CloneUtils#deepDiff(Object, Object, String...)}.
+ * Apply it by {@link CloneUtils#deepPatch(Object, DeepDiff)} or send it as
+ * JSON merge patch (RFC 7396) or as JSON patch (RFC 6902) to somewhere else.
+ */
+public final class DeepDiff {
+    private final List<Change> changes;
+    private final Map<String, Object> mergePatch;
+
+    DeepDiff(List<Change> changes, Map<String, Object> mergePatch) {
+        this.changes = Collections.unmodifiableList(changes);
+        this.mergePatch = Collections.unmodifiableMap(mergePatch);
+    }
+
+    /**
+     * @return the changes in the order they have to be applied
+     */
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Changed arrays are contained completely, because a merge patch cannot address array elements
+     *
+     * @return the changes as JSON merge patch (RFC 7396): removed properties are null
+     */
+    public Map<String, Object> toMergePatch() {
+        return mergePatch;
+    }
+
+    /**
+     * @return the changes as JSON patch (RFC 6902): a list of operations with "op", "path" and "value"
+     */
+    public List<Map<String, Object>> toJsonPatch() {
+        List<Map<String, Object>> operations = new ArrayList<>(changes.size());
+
+        for (Change change : changes) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("op", change.operation.name().toLowerCase(Locale.ROOT));
+            operation.put("path", change.getPointer());
+
+            if (change.operation != Change.Operation.REMOVE) {
+                operation.put("value", change.value);
+            }
+
+            operations.add(operation);
+        }
+
+        return operations;
+    }
+
+    /**
+     * @throws IllegalStateException if the target doesn't contain a changed path
+     */
+    void applyTo(ObjectNode target) {
+        for (Change change : changes) {
+            JsonNode parent = target;
+            List<String> path = change.path;
+
+            for (String name : path.subList(0, path.size() - 1)) {
+                parent = parent.isArray() ? parent.get(Integer.parseInt(name)) : parent.get(name);
+
+                if (parent == null) {
+                    throw new IllegalStateException("Cannot apply change, the target doesn't contain: " + change.getPointer());
+                }
+            }
+
+            String name = path.get(path.size() - 1);
+
+            if (parent.isArray()) {
+                apply(change, (ArrayNode) parent, Integer.parseInt(name));
+            } else if (parent.isObject()) {
+                apply(change, (ObjectNode) parent, name);
+            } else {
+                throw new IllegalStateException("Cannot apply change, the target contains no object at: " + change.getPointer());
+            }
+        }
+    }
+
+    private static void apply(Change change, ArrayNode array, int index) {
+        switch (change.operation) {
+            case ADD:
+                array.insert(index, change.node.deepCopy());
+                break;
+            case REPLACE:
+                array.set(index, change.node.deepCopy());
+                break;
+            case REMOVE:
+                array.remove(index);
+                break;
+        }
+    }
+
+    private static void apply(Change change, ObjectNode object, String name) {
+        if (change.operation == Change.Operation.REMOVE) {
+            object.remove(name);
+        } else {
+            object.set(name, change.node.deepCopy());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DeepDiff deepDiff = (DeepDiff) o;
+        return changes.equals(deepDiff.changes);
+    }
+
+    @Override
+    public int hashCode() {
+        return changes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return changes.toString();
+    }
+
+    /**
+     * One changed property or array element
+     */
+    public static final class Change {
+        public enum Operation {
+            ADD,
+            REMOVE,
+            REPLACE
+        }
+
+        private final Operation operation;
+        private final List<String> path;
+        private final Object value;
+        private final JsonNode node;
+
+        Change(Operation operation, List<String> path, Object value, JsonNode node) {
+            this.operation = operation;
+            this.path = Collections.unmodifiableList(new ArrayList<>(path));
+            this.value = value;
+            this.node = node;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        /**
+         * @return the property names leading to the changed value, array elements are addressed by their index
+         */
+        public List<String> getPath() {
+            return path;
+        }
+
+        /**
+         * @return the path as JSON pointer (RFC 6901), like "/innerTestObjectProperty/stringList/0"
+         */
+        public String getPointer() {
+            StringBuilder pointer = new StringBuilder();
+
+            for (String name : path) {
+                pointer.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+            }
+
+            return pointer.toString();
+        }
+
+        /**
+         * @return the new value as plain JSON value (maps, lists, strings, numbers and booleans) or null if removed
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Change change = (Change) o;
+            return operation == change.operation &&
+                    path.equals(change.path) &&
+                    Objects.equals(value, change.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, path, value);
+        }
+
+        @Override
+        public String toString() {
+            return operation + " " + getPointer() + (operation == Operation.REMOVE ? "" : " " + value);
+        }
+    }
+}
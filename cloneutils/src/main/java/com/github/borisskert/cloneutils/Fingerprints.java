@@ -0,0 +1,137 @@
+package com.github.borisskert.cloneutils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * 64 bit fingerprints of JSON values: equal JSON values have equal fingerprints, no matter if they are
+ * calculated from the written tokens or from the Java values which would be written.
+ * The properties of an object are summed up, so their order doesn't matter (like for {@link java.util.Map#equals(Object)}),
+ * the elements of an array are chained in their order.
+ */
+final class Fingerprints {
+    static final long NULL = 0x4a1e5b1c7d3f9e21L;
+    static final long TRUE = 0x2c6d9f7b3e815a47L;
+    static final long FALSE = 0x71b3e4d95a0c6f38L;
+
+    private static final long STRING = 0x5bd1e9955bd1e995L;
+    private static final long INTEGRAL = 0x27d4eb2f165667c5L;
+    private static final long FLOATING = 0x165667b19e3779f9L;
+    private static final long DECIMAL = 0x61c8864680b583ebL;
+    private static final long OBJECT = 0x9e3779b97f4a7c15L;
+    private static final long ARRAY = 0xc2b2ae3d27d4eb4fL;
+    private static final long EMBEDDED = 0x85ebca77c2b2ae63L;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Fingerprints() {
+        throw new IllegalStateException();
+    }
+
+    static long ofString(String value) {
+        long hash = FNV_OFFSET;
+
+        for (int index = 0; index < value.length(); index++) {
+            hash = (hash ^ value.charAt(index)) * FNV_PRIME;
+        }
+
+        return mix(hash ^ STRING);
+    }
+
+    /**
+     * A char is written as string of length one
+     */
+    static long ofChar(char value) {
+        return mix(((FNV_OFFSET ^ value) * FNV_PRIME) ^ STRING);
+    }
+
+    static long ofBoolean(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Integral values get the same fingerprint regardless of their type, because Jackson writes some of them
+     * (like {@link Byte}) as an other type. {@link Float} and {@link Double} values are treated the same way.
+     */
+    static long ofNumber(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return mix(value.longValue() ^ INTEGRAL);
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            return mix(Double.doubleToLongBits(value.doubleValue()) ^ FLOATING);
+        }
+
+        if (value instanceof BigInteger) {
+            BigInteger integer = (BigInteger) value;
+
+            if (integer.bitLength() < Long.SIZE) {
+                return mix(integer.longValue() ^ INTEGRAL);
+            }
+
+            return mix(integer.hashCode() ^ (INTEGRAL * 31));
+        }
+
+        if (value instanceof BigDecimal) {
+            // decimals are equal regardless of their scale
+            BigDecimal decimal = ((BigDecimal) value).stripTrailingZeros();
+            return mix((decimal.unscaledValue().hashCode() * 31L + decimal.scale()) ^ DECIMAL);
+        }
+
+        return ofString(value.toString());
+    }
+
+    static boolean isNumber(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == Double.class || type == Float.class || type == BigInteger.class || type == BigDecimal.class;
+    }
+
+    /**
+     * Binary values are embedded as byte arrays, which are compared by their content
+     */
+    static long ofBinary(byte[] value) {
+        return mix(Arrays.hashCode(value) ^ EMBEDDED);
+    }
+
+    /**
+     * Other embedded objects are fingerprinted by their JSON representation,
+     * their hash codes may be identity hash codes which differ between JVM instances
+     */
+    static long ofEmbedded(String json) {
+        return mix(ofString(json) ^ EMBEDDED);
+    }
+
+    static long ofProperty(long nameFingerprint, long valueFingerprint) {
+        return mix(nameFingerprint * 31 + valueFingerprint);
+    }
+
+    /**
+     * @param properties the sum of the {@link #ofProperty(long, long)} fingerprints
+     */
+    static long ofObject(long properties) {
+        return mix(properties ^ OBJECT);
+    }
+
+    static long startArray() {
+        return ARRAY;
+    }
+
+    static long addElement(long array, long element) {
+        return mix(array * 31 + element);
+    }
+
+    /**
+     * The finalizer of MurmurHash3: spreads every input bit over all output bits
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
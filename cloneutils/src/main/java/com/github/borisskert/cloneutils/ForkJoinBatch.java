@@ -0,0 +1,153 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Applies a function to all elements of a collection within a {@link ForkJoinPool}.
+ * <p>
+ * The first elements are processed on the calling thread to measure the cost per element. The remaining elements
+ * are split into tasks which take about {@link #TARGET_TASK_NANOS} each, so cheap elements aren't drowned
+ * by the overhead of forking while expensive ones still spread over all threads of the pool.
+ * <p>
+ * The results keep the order of the elements. If elements fail, the {@link CloneException} of the first failing
+ * element (by order) is thrown, regardless of the thread timing: elements behind a known failure are skipped,
+ * elements before it are still processed.
+ */
+class ForkJoinBatch {
+    /**
+     * A task should run long enough to outweigh the overhead of forking and joining it
+     */
+    private static final long TARGET_TASK_NANOS = 100_000;
+
+    private static final int MAX_SAMPLE_SIZE = 1024;
+
+    /**
+     * More tasks than threads let the pool balance elements of different costs
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private ForkJoinBatch() {
+        throw new IllegalStateException();
+    }
+
+    static List<Object> apply(Collection<?> elements, Function<Object, Object> function, ForkJoinPool pool) throws CloneException {
+        Object[] values = elements.toArray();
+        Object[] results = new Object[values.length];
+        Failure failure = new Failure();
+
+        long start = System.nanoTime();
+        int sampleSize = 0;
+
+        while (sampleSize < values.length && sampleSize < MAX_SAMPLE_SIZE && System.nanoTime() - start < TARGET_TASK_NANOS) {
+            if (!applyTo(values, results, sampleSize, function, failure)) failure.rethrow();
+            sampleSize++;
+        }
+
+        if (sampleSize < values.length) {
+            long nanosPerElement = Math.max(1, (System.nanoTime() - start) / sampleSize);
+            int threshold = threshold(values.length - sampleSize, nanosPerElement, pool.getParallelism());
+
+            Task task = new Task(values, results, function, failure, sampleSize, values.length, threshold);
+
+            // nested within a task of the same pool, like the lists within a list cloned in parallel
+            if (ForkJoinTask.getPool() == pool) {
+                task.invoke();
+            } else {
+                pool.invoke(task);
+            }
+
+            failure.rethrow();
+        }
+
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    private static int threshold(int remaining, long nanosPerElement, int parallelism) {
+        long byCost = Math.max(1, TARGET_TASK_NANOS / nanosPerElement);
+        long byBalance = Math.max(1, remaining / ((long) parallelism * TASKS_PER_THREAD));
+
+        return (int) Math.min(byCost, byBalance);
+    }
+
+    /**
+     * @return false if the element failed
+     */
+    private static boolean applyTo(Object[] values, Object[] results, int index, Function<Object, Object> function, Failure failure) {
+        try {
+            results[index] = function.apply(values[index]);
+            return true;
+        } catch (RuntimeException e) {
+            failure.record(index, CloneException.wrap(e));
+        }
+
+        return false;
+    }
+
+    private static class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] values;
+        private final Object[] results;
+        private final Function<Object, Object> function;
+        private final Failure failure;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        private Task(Object[] values, Object[] results, Function<Object, Object> function, Failure failure, int start, int end, int threshold) {
+            this.values = values;
+            this.results = results;
+            this.function = function;
+            this.failure = failure;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (start >= failure.index) return;
+
+            if (end - start <= threshold) {
+                for (int index = start; index < end && index < failure.index; index++) {
+                    if (!applyTo(values, results, index, function, failure)) return;
+                }
+
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+
+            invokeAll(
+                    new Task(values, results, function, failure, start, middle, threshold),
+                    new Task(values, results, function, failure, middle, end, threshold)
+            );
+        }
+    }
+
+    /**
+     * The failure of the element with the lowest index so far
+     */
+    private static class Failure {
+        private volatile int index = Integer.MAX_VALUE;
+        private CloneException exception;
+
+        synchronized void record(int index, CloneException exception) {
+            if (index < this.index) {
+                this.exception = exception;
+                this.index = index;
+            }
+        }
+
+        synchronized void rethrow() throws CloneException {
+            if (exception != null) throw exception;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.borisskert.cloneutils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which the cloneutils-processor generates a {@link StaticCloner} at compile time.
+ * {@link CloneUtils} finds and uses the generated cloner automatically.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateCloner {
+}
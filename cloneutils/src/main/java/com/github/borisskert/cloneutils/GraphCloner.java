@@ -0,0 +1,148 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clones an object graph keeping its identities: each source object is cloned once per target type and
+ * ignored properties, see {@link CloneGraph}.
+ * <p>
+ * Beans are copied by the {@link BeanCloner}s, lists and maps are copied here. Beans created by their default
+ * creator are registered before their properties are cloned, so cyclic references to them are reproduced.
+ * Cycles through creator arguments cannot be reproduced, they fail. All other values are cloned by Jackson
+ * as a whole, like values with custom serializers: shared references within them are copied.
+ * The backends of the engine are not used, they don't know about identities.
+ */
+class GraphCloner implements ValueCloner {
+    private static final JavaType UNKNOWN_TYPE = TypeFactory.unknownType();
+
+    private final BeanCloners cloners;
+    private final CloneGraph graph;
+
+    GraphCloner(BeanCloners cloners, CloneGraph graph) {
+        this.cloners = cloners;
+        this.graph = graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T clone(Object object, JavaType targetType, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            return (T) cloneValue(object, targetType, ignoredProperties);
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    @Override
+    public Object cloneValue(Object value, JavaType targetType, IgnoredProperties ignoredProperties) {
+        if (value == null) return null;
+
+        Class<?> sourceClass = value.getClass();
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (cloners.isShared(sourceClass, targetClass)) {
+            return value;
+        }
+
+        CloneGraph.Entry entry = graph.find(value, targetType, ignoredProperties);
+
+        if (entry != null) {
+            if (entry.isInProgress()) {
+                throw new IllegalStateException("Cannot reproduce the cyclic reference to a " + sourceClass.getName()
+                        + " which is created by its creator arguments");
+            }
+
+            return entry.getClone();
+        }
+
+        entry = graph.start(value, targetType, ignoredProperties);
+
+        if (value instanceof Collection && isListType(targetClass)) {
+            return cloneList((Collection<?>) value, contentTypeOf(targetType), ignoredProperties, entry);
+        }
+
+        if (value instanceof Map && isMapType(targetType) && hasStringKeys((Map<?, ?>) value)) {
+            return cloneMap((Map<?, ?>) value, targetType, ignoredProperties, entry);
+        }
+
+        BeanCloner cloner = cloners.find(sourceClass, targetType);
+        Object clone;
+
+        if (cloner != null) {
+            clone = cloner.clone(value, ignoredProperties, this, entry::complete);
+        } else {
+            clone = cloners.cloneByTokens(value, targetType, ignoredProperties);
+        }
+
+        entry.complete(clone);
+        return clone;
+    }
+
+    private List<Object> cloneList(Collection<?> collection, JavaType elementType, IgnoredProperties ignoredProperties, CloneGraph.Entry entry) {
+        List<Object> clonedList = new ArrayList<>(collection.size());
+        entry.complete(clonedList);
+
+        for (Object element : collection) {
+            clonedList.add(cloneValue(element, elementType, ignoredProperties));
+        }
+
+        return clonedList;
+    }
+
+    /**
+     * Like Jackson, null values are left out
+     */
+    private Map<String, Object> cloneMap(Map<?, ?> map, JavaType targetType, IgnoredProperties ignoredProperties, CloneGraph.Entry entry) {
+        Map<String, Object> clonedMap = targetType.getRawClass() == HashMap.class ? new HashMap<>() : new LinkedHashMap<>();
+        entry.complete(clonedMap);
+
+        JavaType valueType = contentTypeOf(targetType);
+
+        for (Map.Entry<?, ?> mapEntry : map.entrySet()) {
+            String key = (String) mapEntry.getKey();
+            Object value = mapEntry.getValue();
+
+            if (value == null || ignoredProperties.isIgnored(key)) continue;
+
+            clonedMap.put(key, cloneValue(value, valueType, ignoredProperties.child(key)));
+        }
+
+        return clonedMap;
+    }
+
+    private static JavaType contentTypeOf(JavaType containerType) {
+        JavaType contentType = containerType.getContentType();
+        return contentType == null ? UNKNOWN_TYPE : contentType;
+    }
+
+    /**
+     * Untyped values are read by Jackson as lists and maps
+     */
+    private static boolean isListType(Class<?> type) {
+        return type == List.class || type == Collection.class || type == ArrayList.class || type == Object.class;
+    }
+
+    private static boolean isMapType(JavaType type) {
+        Class<?> mapClass = type.getRawClass();
+        if (mapClass == Object.class) return true;
+        if (mapClass != Map.class && mapClass != LinkedHashMap.class && mapClass != HashMap.class) return false;
+
+        JavaType keyType = type.getKeyType();
+        return keyType == null || keyType.getRawClass() == String.class || keyType.getRawClass() == Object.class;
+    }
+
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) return false;
+        }
+
+        return true;
+    }
+}
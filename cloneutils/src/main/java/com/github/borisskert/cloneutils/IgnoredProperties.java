@@ -0,0 +1,355 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Matches property names against a list of ignored property patterns.
+ * <ul>
+ * <li>"a.b.c" ignores property "c" within the property "b" within the property "a"</li>
+ * <li>"*" matches any single property name, like "*.audit.*"</li>
+ * <li>"**" matches any number of property levels (including none), like "**.id"</li>
+ * <li>"[*]" denotes the elements of an array, like "items[*].internalNotes"</li>
+ * <li>a backslash escapes "[", "]", "*" and itself within a property name, like "price\\[EUR\\]" (as Java literal)
+ * for the property "price[EUR]"</li>
+ * </ul>
+ * Arrays are transparent: the patterns of an array property apply to each of its elements,
+ * that's why "items[*].internalNotes" and "items.internalNotes" are the same.
+ * <p>
+ * The patterns are compiled once per distinct list into a deterministic automaton: each instance is one state of it
+ * and each property level of a traversal is one lookup, no matter how many patterns there are.
+ */
+class IgnoredProperties {
+    static final IgnoredProperties NONE = new IgnoredProperties(false);
+
+    /**
+     * Ignored properties are usually constants, the limit only protects against callers building them dynamically
+     */
+    private static final int MAX_CACHED = 1024;
+
+    /**
+     * Many "*" following a "**" can make the automaton grow exponentially
+     */
+    private static final int MAX_STATES = 10_000;
+
+    private static final String ARRAY_ELEMENTS = "[*]";
+    private static final String ESCAPED_CHARACTERS = "[]*\\";
+
+    /**
+     * The wildcard segments of a compiled pattern, all other segments are the literal property names
+     */
+    private static final Object ANY_NAME = new Object();
+    private static final Object ANY_DEPTH = new Object();
+
+    private static final ConcurrentMap<List<String>, IgnoredProperties> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * The transitions for property names which are mentioned literally by a pattern
+     */
+    private Map<String, IgnoredProperties> transitions = Collections.emptyMap();
+
+    /**
+     * The transition for all other property names
+     */
+    private IgnoredProperties otherTransition;
+
+    /**
+     * true if a pattern ends here: the property leading to this state is ignored
+     */
+    private final boolean ignored;
+
+    /**
+     * The transitions are set by the {@link Compiler}, the states are published through the cache afterwards
+     */
+    private IgnoredProperties(boolean ignored) {
+        this.ignored = ignored;
+    }
+
+    /**
+     * @throws CloneException if a pattern is malformed
+     */
+    static IgnoredProperties of(String... patterns) {
+        if (patterns == null || patterns.length < 1) return NONE;
+
+        List<String> key = Arrays.asList(patterns);
+        IgnoredProperties cached = CACHE.get(key);
+        if (cached != null) return cached;
+
+        String[] copiedPatterns = patterns.clone();
+        IgnoredProperties ignoredProperties;
+
+        try {
+            ignoredProperties = new Compiler(copiedPatterns).compile();
+        } catch (IllegalArgumentException e) {
+            throw new CloneException(e.getMessage(), e);
+        }
+
+        if (CACHE.size() >= MAX_CACHED) return ignoredProperties;
+
+        IgnoredProperties existing = CACHE.putIfAbsent(Arrays.asList(copiedPatterns), ignoredProperties);
+        return existing == null ? ignoredProperties : existing;
+    }
+
+    boolean isEmpty() {
+        return this == NONE;
+    }
+
+    /**
+     * @param name the property name
+     * @return true if the property with the specified name has to be ignored on this level
+     */
+    boolean isIgnored(String name) {
+        return find(name).ignored;
+    }
+
+    /**
+     * @param name the property name
+     * @return the ignored properties which apply within the value of the specified property
+     */
+    IgnoredProperties child(String name) {
+        return find(name);
+    }
+
+    /**
+     * A property name containing dots is matched like the according path segments,
+     * so a pattern "a.b" ignores a property named "a.b" as well.
+     */
+    private IgnoredProperties find(String name) {
+        if (isEmpty()) return NONE;
+
+        int dot = name.indexOf('.');
+        if (dot < 0) return transition(name);
+
+        IgnoredProperties state = this;
+        int start = 0;
+
+        while (dot >= 0) {
+            state = state.transition(name.substring(start, dot));
+            start = dot + 1;
+            dot = name.indexOf('.', start);
+        }
+
+        return state.transition(name.substring(start));
+    }
+
+    private IgnoredProperties transition(String name) {
+        IgnoredProperties state = transitions.get(name);
+        return state == null ? otherTransition : state;
+    }
+
+    /**
+     * Compiles the patterns by subset construction: a state of the automaton is the set of pattern positions
+     * reachable after the property names so far. The alphabet consists of the literal names plus "any other name".
+     */
+    private static class Compiler {
+        private final List<Object[]> patterns = new ArrayList<>();
+        private final int[] offsets;
+        private final Set<String> literals = new HashSet<>();
+        private final Map<BitSet, IgnoredProperties> states = new HashMap<>();
+        private final List<BitSet> unprocessed = new ArrayList<>();
+
+        Compiler(String[] patterns) {
+            this.offsets = new int[patterns.length + 1];
+
+            for (int index = 0; index < patterns.length; index++) {
+                Object[] segments = parse(patterns[index]);
+
+                this.patterns.add(segments);
+                this.offsets[index + 1] = offsets[index] + segments.length + 1;
+
+                for (Object segment : segments) {
+                    if (segment instanceof String) {
+                        literals.add((String) segment);
+                    }
+                }
+            }
+        }
+
+        IgnoredProperties compile() {
+            BitSet start = new BitSet();
+
+            for (int index = 0; index < patterns.size(); index++) {
+                start.set(offsets[index]);
+            }
+
+            IgnoredProperties initial = stateOf(closure(start));
+
+            while (!unprocessed.isEmpty()) {
+                BitSet positions = unprocessed.remove(unprocessed.size() - 1);
+                IgnoredProperties state = states.get(positions);
+
+                IgnoredProperties otherTransition = stateOf(move(positions, null));
+                Map<String, IgnoredProperties> transitions = new HashMap<>();
+
+                for (String literal : literals) {
+                    IgnoredProperties target = stateOf(move(positions, literal));
+
+                    if (target != otherTransition) {
+                        transitions.put(literal, target);
+                    }
+                }
+
+                state.otherTransition = otherTransition;
+                state.transitions = transitions.isEmpty() ? Collections.emptyMap() : transitions;
+            }
+
+            return initial;
+        }
+
+        private IgnoredProperties stateOf(BitSet positions) {
+            if (positions.isEmpty()) return NONE;
+
+            IgnoredProperties state = states.get(positions);
+            if (state != null) return state;
+
+            if (states.size() >= MAX_STATES) {
+                throw new IllegalArgumentException("Too complex ignored property patterns: " + patterns.size());
+            }
+
+            state = new IgnoredProperties(isAccepting(positions));
+            states.put(positions, state);
+
+            if (hasPendingSegments(positions)) {
+                unprocessed.add(positions);
+            } else {
+                state.otherTransition = NONE;
+            }
+
+            return state;
+        }
+
+        /**
+         * @param name the property name or null for any name not mentioned literally
+         */
+        private BitSet move(BitSet positions, String name) {
+            BitSet moved = new BitSet();
+
+            for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+                Object segment = segmentAt(position);
+                if (segment == null) continue;
+
+                if (segment == ANY_DEPTH) {
+                    moved.set(position);
+                } else if (segment == ANY_NAME || segment.equals(name)) {
+                    moved.set(position + 1);
+                }
+            }
+
+            return closure(moved);
+        }
+
+        /**
+         * "**" may match no property level at all, so the position after it is reachable without a name
+         */
+        private BitSet closure(BitSet positions) {
+            for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+                if (segmentAt(position) == ANY_DEPTH) {
+                    positions.set(position + 1);
+                }
+            }
+
+            return positions;
+        }
+
+        private boolean isAccepting(BitSet positions) {
+            for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+                if (segmentAt(position) == null) return true;
+            }
+
+            return false;
+        }
+
+        private boolean hasPendingSegments(BitSet positions) {
+            for (int position = positions.nextSetBit(0); position >= 0; position = positions.nextSetBit(position + 1)) {
+                if (segmentAt(position) != null) return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @return the segment at the specified position or null if the position is the end of its pattern
+         */
+        private Object segmentAt(int position) {
+            int index = Arrays.binarySearch(offsets, position);
+            if (index < 0) index = -index - 2;
+
+            Object[] segments = patterns.get(index);
+            int segmentIndex = position - offsets[index];
+
+            return segmentIndex < segments.length ? segments[segmentIndex] : null;
+        }
+
+        /**
+         * @return the segments of the pattern: {@link #ANY_NAME}, {@link #ANY_DEPTH} or the literal property names
+         */
+        private static Object[] parse(String pattern) {
+            List<Object> segments = new ArrayList<>();
+            StringBuilder segment = new StringBuilder();
+            int wildcards = 0;
+            int index = 0;
+
+            while (index < pattern.length()) {
+                char character = pattern.charAt(index);
+
+                if (character == '\\') {
+                    if (index + 1 >= pattern.length() || ESCAPED_CHARACTERS.indexOf(pattern.charAt(index + 1)) < 0) {
+                        throw new IllegalArgumentException("Only [, ], * and \\ can be escaped by \\: " + pattern);
+                    }
+
+                    segment.append(pattern.charAt(index + 1));
+                    index += 2;
+                } else if (character == '.') {
+                    segments.add(segmentOf(pattern, segment, wildcards));
+                    segment.setLength(0);
+                    wildcards = 0;
+                    index++;
+                } else if (character == '[' || character == ']') {
+                    if (!pattern.startsWith(ARRAY_ELEMENTS, index) || segment.length() < 1 || !isSegmentEnd(pattern, index + ARRAY_ELEMENTS.length())) {
+                        throw new IllegalArgumentException(
+                                "Only [*] is supported to address array elements, brackets within property names are escaped like \\[: " + pattern
+                        );
+                    }
+
+                    index += ARRAY_ELEMENTS.length();
+                } else {
+                    if (character == '*') wildcards++;
+
+                    segment.append(character);
+                    index++;
+                }
+            }
+
+            segments.add(segmentOf(pattern, segment, wildcards));
+
+            return segments.toArray();
+        }
+
+        /**
+         * Array elements are transparent, so "[*]" may only follow a property name, once or more often
+         */
+        private static boolean isSegmentEnd(String pattern, int index) {
+            return index >= pattern.length() || pattern.charAt(index) == '.' || pattern.charAt(index) == '[';
+        }
+
+        /**
+         * @param wildcards the number of unescaped "*" within the segment
+         */
+        private static Object segmentOf(String pattern, StringBuilder segment, int wildcards) {
+            if (wildcards < 1) return segment.toString();
+            if (wildcards == segment.length() && wildcards == 1) return ANY_NAME;
+            if (wildcards == segment.length() && wildcards == 2) return ANY_DEPTH;
+
+            throw new IllegalArgumentException("Wildcards have to be whole property names like * or **, a * within a property name is escaped like \\*: " + pattern);
+        }
+    }
+}
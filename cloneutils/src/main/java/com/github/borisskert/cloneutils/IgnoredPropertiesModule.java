@@ -0,0 +1,138 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerBuilder;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.std.MapSerializer;
+import com.fasterxml.jackson.databind.type.MapType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Skips {@link IgnoredProperties} while serializing: ignored properties are neither read nor written.
+ * All beans and maps get a property filter which matches the path of each written property, as it's found in the
+ * output context of the generator. That way properties written by custom serializers count as path segments too.
+ * It only filters for writers created by {@link #ignoring(ObjectWriter, IgnoredProperties)}
+ * and the mapper needs the {@link #filters()} to find it.
+ */
+class IgnoredPropertiesModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    private static final String FILTER_ID = IgnoredPropertiesModule.class.getName();
+    private static final String SCOPE = IgnoredPropertiesModule.class.getName() + ".scope";
+
+    IgnoredPropertiesModule() {
+        super(IgnoredPropertiesModule.class.getSimpleName());
+        setSerializerModifier(new FilteringSerializerModifier());
+    }
+
+    /**
+     * Other filter ids (of classes annotated with {@code @JsonFilter}) are unknown: their properties are all written,
+     * unless properties within them would have to be ignored, that fails
+     */
+    static FilterProvider filters() {
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, new IgnoringFilter())
+                .setDefaultFilter(new UnknownFilter());
+    }
+
+    static ObjectWriter ignoring(ObjectWriter writer, IgnoredProperties ignoredProperties) {
+        if (ignoredProperties.isEmpty()) return writer;
+
+        return writer.withAttribute(SCOPE, new Scope(ignoredProperties));
+    }
+
+    private static class FilteringSerializerModifier extends BeanSerializerModifier {
+        @Override
+        public BeanSerializerBuilder updateBuilder(SerializationConfig config, BeanDescription description, BeanSerializerBuilder builder) {
+            if (builder.getFilterId() == null) {
+                builder.setFilterId(FILTER_ID);
+            }
+
+            return builder;
+        }
+
+        @Override
+        public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType type, BeanDescription description, JsonSerializer<?> serializer) {
+            boolean hasOwnFilter = config.getAnnotationIntrospector().findFilterId(description.getClassInfo()) != null;
+
+            if (serializer instanceof MapSerializer && !hasOwnFilter) {
+                return ((MapSerializer) serializer).withFilterId(FILTER_ID);
+            }
+
+            return serializer;
+        }
+    }
+
+    private static class IgnoringFilter extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            Scope scope = (Scope) provider.getAttribute(SCOPE);
+
+            if (scope == null || !scope.of(generator.getOutputContext()).isIgnored(writer.getName())) {
+                writer.serializeAsField(pojo, generator, provider);
+            }
+        }
+    }
+
+    private static class UnknownFilter extends SimpleBeanPropertyFilter {
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            Scope scope = (Scope) provider.getAttribute(SCOPE);
+
+            if (scope != null && !scope.of(generator.getOutputContext()).isEmpty()) {
+                throw JsonMappingException.from(generator, "Cannot ignore properties within " + pojo.getClass().getName()
+                        + ", it has its own filter");
+            }
+
+            writer.serializeAsField(pojo, generator, provider);
+        }
+    }
+
+    /**
+     * The ignored properties of the written object, one instance per written object.
+     * Arrays are transparent, so the properties apply to each of their elements.
+     */
+    private static class Scope {
+        private final IgnoredProperties root;
+
+        /**
+         * The property names of the object contexts enclosing the current one, reused by each lookup
+         */
+        private final Deque<String> path = new ArrayDeque<>();
+
+        private Scope(IgnoredProperties root) {
+            this.root = root;
+        }
+
+        /**
+         * @param context the context of the object whose properties are written
+         */
+        IgnoredProperties of(JsonStreamContext context) {
+            for (JsonStreamContext parent = context.getParent(); parent != null; parent = parent.getParent()) {
+                if (parent.inObject()) path.push(parent.getCurrentName());
+            }
+
+            IgnoredProperties ignoredProperties = root;
+
+            while (!path.isEmpty()) {
+                ignoredProperties = ignoredProperties.child(path.pop());
+            }
+
+            return ignoredProperties;
+        }
+    }
+}
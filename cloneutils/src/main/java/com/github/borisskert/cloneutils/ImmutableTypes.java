@@ -0,0 +1,101 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Registry of immutable types: their values are shared by reference between origin and clone instead of being copied.
+ * Only exact classes are registered, subclasses of non-final classes like {@link BigDecimal} may be mutable.
+ */
+class ImmutableTypes {
+    private static final Set<Class<?>> BUILT_IN_TYPES = new HashSet<>(Arrays.asList(
+            String.class,
+            Boolean.class,
+            Character.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            UUID.class,
+            URI.class,
+            Locale.class,
+            Duration.class,
+            Instant.class,
+            LocalDate.class,
+            LocalDateTime.class,
+            LocalTime.class,
+            MonthDay.class,
+            OffsetDateTime.class,
+            OffsetTime.class,
+            Period.class,
+            Year.class,
+            YearMonth.class,
+            ZonedDateTime.class
+    ));
+
+    /**
+     * The flags are JDK classes, so a registered class never keeps this library's class loader alive
+     */
+    private final ClassValue<AtomicBoolean> immutableTypes = new ClassValue<AtomicBoolean>() {
+        @Override
+        protected AtomicBoolean computeValue(Class<?> type) {
+            return new AtomicBoolean(isBuiltIn(type));
+        }
+    };
+
+    /**
+     * @param type the class whose instances cannot be modified after creation
+     */
+    void register(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isInterface()) {
+            throw new IllegalArgumentException("Not a class which can be immutable: " + type.getName());
+        }
+
+        immutableTypes.get(type).set(true);
+    }
+
+    boolean isImmutable(Class<?> type) {
+        return immutableTypes.get(type).get();
+    }
+
+    /**
+     * Enums with a {@link JsonFormat} are written as objects or by index, sharing them would skip that
+     */
+    static boolean isBuiltIn(Class<?> type) {
+        if (type.isEnum()) {
+            return !type.isAnnotationPresent(JsonFormat.class);
+        }
+
+        if (type.getSuperclass() != null && type.getSuperclass().isEnum()) {
+            return isBuiltIn(type.getSuperclass());
+        }
+
+        return BUILT_IN_TYPES.contains(type) || ZoneId.class.isAssignableFrom(type) && type.getClassLoader() == null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.impl.SetterlessProperty;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lets the {@link TokenCloner} pass values of {@link ImmutableTypes} through its {@link TokenBuffer} as embedded objects,
+ * so they are shared by reference instead of being written as JSON values and parsed into new instances.
+ * Sharing is only active for writers created by {@link #sharing(ObjectWriter)}, all other serialization is unchanged.
+ * <p>
+ * Jackson caches its serializers: types have to be registered before their values are cloned the first time.
+ */
+class ImmutableValueModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+    private static final String SHARE_IMMUTABLE_VALUES = ImmutableValueModule.class.getName() + ".share";
+
+    private final ImmutableTypes immutableTypes;
+
+    ImmutableValueModule(ImmutableTypes immutableTypes) {
+        super(ImmutableValueModule.class.getSimpleName());
+        this.immutableTypes = immutableTypes;
+
+        setSerializerModifier(new SharingSerializerModifier());
+        setDeserializerModifier(new SharingDeserializerModifier());
+    }
+
+    static ObjectWriter sharing(ObjectWriter writer) {
+        return writer.withAttribute(SHARE_IMMUTABLE_VALUES, Boolean.TRUE);
+    }
+
+    private class SharingSerializerModifier extends BeanSerializerModifier {
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description, JsonSerializer<?> serializer) {
+            if (!immutableTypes.isImmutable(description.getBeanClass())) return serializer;
+
+            return new SharingSerializer((JsonSerializer<Object>) serializer);
+        }
+    }
+
+    private class SharingDeserializerModifier extends BeanDeserializerModifier {
+        @Override
+        public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription description, JsonDeserializer<?> deserializer) {
+            return share(description.getBeanClass(), deserializer);
+        }
+
+        /**
+         * Immutable values are never merged into, so their getters are not used as setters of a merging mapper
+         */
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription description, BeanDeserializerBuilder builder) {
+            if (!immutableTypes.isImmutable(description.getBeanClass())) return builder;
+
+            List<PropertyName> setterlessProperties = new ArrayList<>();
+            builder.getProperties().forEachRemaining(property -> {
+                if (property instanceof SetterlessProperty) setterlessProperties.add(property.getFullName());
+            });
+            setterlessProperties.forEach(builder::removeProperty);
+
+            return builder;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyEnumDeserializer(DeserializationConfig config, JavaType type, BeanDescription description, JsonDeserializer<?> deserializer) {
+            return share(type.getRawClass(), deserializer);
+        }
+
+        /**
+         * Primitive targets accept the shared wrapper values as well
+         */
+        private JsonDeserializer<?> share(Class<?> type, JsonDeserializer<?> deserializer) {
+            if (!type.isPrimitive() && !immutableTypes.isImmutable(type)) return deserializer;
+
+            return new SharingDeserializer(deserializer);
+        }
+    }
+
+    /**
+     * Writes the value itself into the token stream while sharing, otherwise serializes it as usual
+     */
+    private static class SharingSerializer extends StdSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        private SharingSerializer(JsonSerializer<Object> delegate) {
+            super(Object.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (provider.getAttribute(SHARE_IMMUTABLE_VALUES) != null) {
+                generator.writeEmbeddedObject(value);
+            } else {
+                delegate.serialize(value, generator, provider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        /**
+         * A property specific serializer (like one with a {@code @JsonFormat}) is used as it is, without sharing
+         */
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (!(delegate instanceof ContextualSerializer)) return this;
+
+            JsonSerializer<?> contextual = ((ContextualSerializer) delegate).createContextual(provider, property);
+            return contextual == delegate ? this : contextual;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) delegate).resolve(provider);
+            }
+        }
+    }
+
+    /**
+     * Returns shared values as they are, if they fit the target type, and deserializes everything else as usual
+     */
+    private class SharingDeserializer extends DelegatingDeserializer {
+        private SharingDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> delegate) {
+            return new SharingDeserializer(delegate);
+        }
+
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT)) {
+                return _delegatee.deserialize(parser, context);
+            }
+
+            Object embedded = parser.getEmbeddedObject();
+
+            if (embedded == null || !immutableTypes.isImmutable(embedded.getClass())) {
+                return _delegatee.deserialize(parser, context);
+            }
+
+            if (Accessors.wrap(handledType()).isInstance(embedded)) {
+                return embedded;
+            }
+
+            return deserializeConverted(embedded, parser, context);
+        }
+
+        /**
+         * A merging mapper replaces shared values instead of merging into them
+         */
+        @Override
+        public Object deserialize(JsonParser parser, DeserializationContext context, Object intoValue) throws IOException {
+            if (parser.hasToken(JsonToken.VALUE_EMBEDDED_OBJECT) || immutableTypes.isImmutable(intoValue.getClass())) {
+                return deserialize(parser, context);
+            }
+
+            return super.deserialize(parser, context, intoValue);
+        }
+
+        @Override
+        public Boolean supportsUpdate(DeserializationConfig config) {
+            return immutableTypes.isImmutable(handledType()) ? Boolean.FALSE : super.supportsUpdate(config);
+        }
+
+        /**
+         * A shared value of another type, like an Integer for a Long target, is converted through its JSON value
+         */
+        private Object deserializeConverted(Object embedded, JsonParser parser, DeserializationContext context) throws IOException {
+            TokenBuffer embeddedAsTokens = new TokenBuffer(parser.getCodec(), false);
+            parser.getCodec().writeValue(embeddedAsTokens, embedded);
+
+            JsonParser embeddedParser = embeddedAsTokens.asParser(parser.getCodec());
+            embeddedParser.nextToken();
+
+            return _delegatee.deserialize(embeddedParser, context);
+        }
+    }
+}
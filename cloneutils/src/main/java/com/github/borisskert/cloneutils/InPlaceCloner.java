@@ -0,0 +1,120 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Clones a source into an existing target instead of creating a new one (see
+ * {@link CloneEngine#cloneInto(Object, Object, String...)}), so a target kept by the caller is refilled
+ * without allocating it again:
+ * <ul>
+ * <li>Nested beans of the target are refilled the same way if they are of the class a clone would have</li>
+ * <li>Nested {@link ArrayList}s of the target are cleared and refilled with clones of the source's elements</li>
+ * <li>All other values are cloned by the {@link BeanCloners} and set, like the values of a new clone</li>
+ * </ul>
+ * Only beans created by their default creator can be refilled, the properties of the others are set by their creator.
+ * Properties which are null in the source are set to null, ignored properties and properties the source doesn't
+ * have are left as they are.
+ */
+class InPlaceCloner {
+    private final BeanCloners cloners;
+
+    InPlaceCloner(BeanCloners cloners) {
+        this.cloners = cloners;
+    }
+
+    <T> T cloneInto(Object source, T target, IgnoredProperties ignoredProperties) throws CloneException {
+        if (source == target) return target;
+
+        try {
+            Class<?> targetClass = target.getClass();
+            BeanCloner cloner = findRefillable(source.getClass(), cloners.constructType(targetClass));
+
+            if (cloner == null) {
+                throw new IllegalArgumentException("Cannot clone a " + source.getClass().getName() + " into an existing "
+                        + targetClass.getName() + ", it's not a bean created by its default creator");
+            }
+
+            refill(source, target, cloner, ignoredProperties);
+            return target;
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    private void refill(Object source, Object target, BeanCloner cloner, IgnoredProperties ignoredProperties) {
+        Map<String, Function<Object, Object>> getters = cloners.findGetters(target.getClass());
+
+        for (BeanCloner.Property property : cloner.properties()) {
+            if (ignoredProperties.isIgnored(property.name)) continue;
+
+            Object value = property.getter.apply(source);
+
+            if (value == null) {
+                if (!property.targetType.isPrimitive()) property.setter.accept(target, null);
+                continue;
+            }
+
+            Function<Object, Object> getter = getters.get(property.name);
+            Object existing = getter == null ? null : getter.apply(target);
+            Object clonedValue = cloneValueInto(value, existing, property.targetType, ignoredProperties.child(property.name));
+
+            if (clonedValue != existing) {
+                property.setter.accept(target, clonedValue);
+            }
+        }
+    }
+
+    /**
+     * @return the existing value refilled with the value or a new clone of it
+     */
+    private Object cloneValueInto(Object value, Object existing, JavaType targetType, IgnoredProperties ignoredProperties) {
+        // a value of the source which is shared by the target cannot be refilled by itself
+        if (existing == null || existing == value) {
+            return cloners.cloneValue(value, targetType, ignoredProperties);
+        }
+
+        Class<?> sourceClass = value.getClass();
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (cloners.isShared(sourceClass, targetClass)) {
+            return value;
+        }
+
+        if (existing.getClass() == ArrayList.class && BeanCloners.isList(sourceClass, targetClass)) {
+            refillList((Collection<?>) value, existing, targetType.getContentType(), ignoredProperties);
+            return existing;
+        }
+
+        if (existing.getClass() == targetClass) {
+            BeanCloner cloner = findRefillable(sourceClass, targetType);
+
+            if (cloner != null) {
+                refill(value, existing, cloner, ignoredProperties);
+                return existing;
+            }
+        }
+
+        return cloners.cloneValue(value, targetType, ignoredProperties);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void refillList(Collection<?> collection, Object existing, JavaType elementType, IgnoredProperties ignoredProperties) {
+        List<Object> list = (List<Object>) existing;
+        list.clear();
+
+        for (Object element : collection) {
+            list.add(cloners.cloneValue(element, elementType, ignoredProperties));
+        }
+    }
+
+    private BeanCloner findRefillable(Class<?> sourceClass, JavaType targetType) {
+        BeanCloner cloner = cloners.find(sourceClass, targetType);
+        return cloner != null && cloner.usesDefaultCreator() ? cloner : null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Reports the elements of a bulk patch which failed, see {@link CloneEngine#deepPatchAll(java.util.Collection, Object, CloneSpec)}.
+ * All other elements are patched nevertheless, their results are available as well.
+ */
+public class PatchAllException extends CloneException {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<Object> results;
+    private final transient SortedMap<Integer, CloneException> failures;
+
+    PatchAllException(List<Object> results, SortedMap<Integer, CloneException> failures) {
+        super(failures.size() + " of " + results.size() + " elements failed, the first one at index " + failures.firstKey(),
+                failures.get(failures.firstKey()));
+
+        this.results = Collections.unmodifiableList(results);
+        this.failures = Collections.unmodifiableSortedMap(failures);
+    }
+
+    /**
+     * @param <S> the element type
+     * @return the patched elements in the order of the origins, null for each failed or null origin
+     */
+    @SuppressWarnings("unchecked")
+    public <S> List<S> getResults() {
+        return (List<S>) results;
+    }
+
+    /**
+     * @return the failures by the index of their origins, in ascending order
+     */
+    public SortedMap<Integer, CloneException> getFailures() {
+        return failures;
+    }
+}
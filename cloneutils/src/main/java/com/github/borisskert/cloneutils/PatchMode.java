@@ -0,0 +1,17 @@
+package com.github.borisskert.cloneutils;
+
+/**
+ * How a patch is applied in place, see {@link CloneEngine#patchInPlace(Object, Object, CloneSpec, PatchMode)}
+ */
+public enum PatchMode {
+    /**
+     * Like {@link CloneEngine#deepPatch(Object, Object, String...)}: nested objects are merged, lists are appended to
+     */
+    MERGE,
+
+    /**
+     * Like {@link CloneEngine#patch(Object, Object, String...)}: the patched properties are replaced as a whole,
+     * including nested objects and lists
+     */
+    REPLACE
+}
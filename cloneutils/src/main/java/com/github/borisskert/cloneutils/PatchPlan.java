@@ -0,0 +1,185 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Patches the same fields of many objects, like {@link CloneEngine#deepPatchFieldsOnly(Object, Object, String...)} does,
+ * compiled once for a patch class and an origin class:
+ * <pre>
+ * private static final PatchPlan&lt;MyPatch, MyObject&gt; STATUS = PatchPlan.compile(MyPatch.class, MyObject.class, "status");
+ *
+ * MyObject patched = STATUS.apply(record, patch);
+ * </pre>
+ * The properties are resolved when it's compiled: each patch only has its listed properties read, they are written
+ * straight into a clone of the origin. Classes which aren't plain beans are patched by the engine as usual.
+ * Plans are immutable and thread-safe.
+ *
+ * @param <P> the patch type
+ * @param <O> the origin and target type
+ */
+public final class PatchPlan<P, O> {
+    private final CloneEngine engine;
+    private final BeanCloners cloners;
+    private final Class<O> originClass;
+    private final String[] fields;
+
+    /**
+     * Copies the origin, or null if it's patched by the engine
+     */
+    private final BeanCloner cloner;
+
+    /**
+     * The getters of the patch by the index of the cloner's properties, null for each property which isn't patched
+     */
+    private final List<Function<Object, Object>> patchGetters;
+
+    PatchPlan(CloneEngine engine, BeanCloners cloners, Class<P> patchClass, Class<O> originClass, String... fields) {
+        this.engine = engine;
+        this.cloners = cloners;
+        this.originClass = originClass;
+        this.fields = fields.clone();
+
+        BeanCloner originCloner = cloners.find(originClass, cloners.constructType(originClass));
+        Map<String, Function<Object, Object>> getters = cloners.findGetters(patchClass);
+
+        if (originCloner == null || getters.isEmpty()) {
+            this.cloner = null;
+            this.patchGetters = null;
+            return;
+        }
+
+        BeanCloner.Property[] properties = originCloner.properties();
+        List<Function<Object, Object>> patchGetters = new ArrayList<>(Collections.nCopies(properties.length, null));
+
+        for (String field : fields) {
+            Function<Object, Object> getter = getters.get(field);
+            int index = indexOf(properties, field);
+
+            if (getter == null || index < 0) {
+                throw new IllegalArgumentException("The field '" + field + "' is not a property of both "
+                        + patchClass.getName() + " and " + originClass.getName());
+            }
+
+            patchGetters.set(index, getter);
+        }
+
+        this.cloner = originCloner;
+        this.patchGetters = patchGetters;
+    }
+
+    /**
+     * @param patchClass  the class of the patches
+     * @param originClass the class of the patched objects
+     * @param fields      the property names which will be patched
+     * @param <P>         the patch type
+     * @param <O>         the origin and target type
+     * @return a plan patching by the default engine of {@link CloneUtils}
+     * @throws IllegalArgumentException if a field is not a property of both classes
+     */
+    public static <P, O> PatchPlan<P, O> compile(Class<P> patchClass, Class<O> originClass, String... fields) {
+        return compile(CloneUtils.DEFAULT_ENGINE, patchClass, originClass, fields);
+    }
+
+    /**
+     * @param engine      the engine cloning the values
+     * @param patchClass  the class of the patches
+     * @param originClass the class of the patched objects
+     * @param fields      the property names which will be patched
+     * @param <P>         the patch type
+     * @param <O>         the origin and target type
+     * @return a plan patching by the specified engine
+     * @throws IllegalArgumentException if a field is not a property of both classes
+     */
+    public static <P, O> PatchPlan<P, O> compile(CloneEngine engine, Class<P> patchClass, Class<O> originClass, String... fields) {
+        return engine.createPatchPlan(patchClass, originClass, fields);
+    }
+
+    /**
+     * @return the patched property names in the order they were listed
+     */
+    public List<String> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Clones and patches the listed fields of the origin like {@link CloneEngine#deepPatchFieldsOnly(Object, Object, String...)}
+     * does: nested objects are merged, lists are appended to, null values of the patch are not applied.
+     *
+     * @param origin the object to be cloned (may be null)
+     * @param patch  the patch to be applied (may be null)
+     * @return a new instance of the cloned object or null if the specified object is null
+     * @throws CloneException if something fails
+     */
+    public O apply(O origin, P patch) throws CloneException {
+        if (origin == null) return null;
+        if (cloner == null || origin.getClass() != originClass) {
+            return engine.deepPatchFieldsOnly(origin, patch, fields);
+        }
+
+        try {
+            return originClass.cast(patchBean(origin, patch));
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    private Object patchBean(Object origin, Object patch) {
+        BeanCloner.Property[] properties = cloner.properties();
+        Object[] values = new Object[properties.length];
+
+        for (int index = 0; index < properties.length; index++) {
+            BeanCloner.Property property = properties[index];
+            Object originValue = property.getter.apply(origin);
+            Function<Object, Object> patchGetter = patchGetters.get(index);
+            Object patchValue = patch == null || patchGetter == null ? null : patchGetter.apply(patch);
+
+            if (patchValue == null) {
+                values[index] = cloners.cloneValue(originValue, property.targetType, IgnoredProperties.NONE);
+            } else if (originValue == null || cloners.isShared(patchValue.getClass(), property.targetType.getRawClass())) {
+                values[index] = cloners.cloneValue(patchValue, property.targetType, IgnoredProperties.NONE);
+            } else if (patchValue instanceof Collection && BeanCloners.isList(originValue.getClass(), property.targetType.getRawClass())) {
+                values[index] = appendList((Collection<?>) originValue, (Collection<?>) patchValue, property);
+            } else {
+                values[index] = engine.mergeValue(originValue, patchValue, property.targetType, IgnoredProperties.NONE);
+            }
+        }
+
+        return cloner.create(values);
+    }
+
+    private List<Object> appendList(Collection<?> origin, Collection<?> patch, BeanCloner.Property property) {
+        List<Object> list = new ArrayList<>(origin.size() + patch.size());
+
+        for (Object element : origin) {
+            list.add(cloners.cloneValue(element, property.targetType.getContentType(), IgnoredProperties.NONE));
+        }
+
+        for (Object element : patch) {
+            list.add(cloners.cloneValue(element, property.targetType.getContentType(), IgnoredProperties.NONE));
+        }
+
+        return list;
+    }
+
+    private static int indexOf(BeanCloner.Property[] properties, String name) {
+        for (int index = 0; index < properties.length; index++) {
+            if (properties[index].name.equals(name)) return index;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "PatchPlan{" +
+                "originClass=" + originClass.getName() +
+                ", fields=" + Arrays.toString(fields) +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Patches an object copy-on-write (see {@link CloneEngine#deepPatchSharing(Object, Object, String...)}): only the beans
+ * along the paths the patch changes are copied, all untouched values are shared with the origin.
+ * The result equals the one of a deep patch:
+ * <ul>
+ * <li>Beans are copied with the patched property values by their {@link BeanCloner}, or shared if nothing changed</li>
+ * <li>Lists are copied with the cloned patch elements appended, the origin's elements are shared</li>
+ * <li>Immutable patch values replace the origin's values, unless they are equal</li>
+ * <li>All other values are merged by JSON trees like a deep patch does, they are copied as a whole</li>
+ * </ul>
+ * The origin must not be modified afterwards, its values may be part of the result.
+ */
+class SharingPatcher {
+    private final BeanCloners cloners;
+    private final CloneEngine engine;
+
+    SharingPatcher(BeanCloners cloners, CloneEngine engine) {
+        this.cloners = cloners;
+        this.engine = engine;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T patch(T origin, Object patch, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            return (T) patchValue(origin, patch, cloners.constructType(origin.getClass()), ignoredProperties);
+        } catch (RuntimeException e) {
+            throw CloneException.wrap(e);
+        }
+    }
+
+    /**
+     * @return the origin itself if the patch doesn't change it
+     */
+    private Object patchValue(Object origin, Object patch, JavaType targetType, IgnoredProperties ignoredProperties) {
+        if (patch == null) return origin;
+        if (origin == null) return cloners.cloneValue(patch, targetType, ignoredProperties);
+
+        Class<?> originClass = origin.getClass();
+        Class<?> targetClass = targetType.getRawClass();
+
+        if (cloners.isShared(patch.getClass(), targetClass)) {
+            return patch.equals(origin) ? origin : patch;
+        }
+
+        if (patch instanceof Collection && BeanCloners.isList(originClass, targetClass)) {
+            return appendList((Collection<?>) origin, (Collection<?>) patch, targetType.getContentType(), ignoredProperties);
+        }
+
+        if (targetClass.isInstance(origin)) {
+            BeanCloner cloner = cloners.find(originClass, cloners.constructType(originClass));
+            Map<String, Function<Object, Object>> patchGetters = cloners.findGetters(patch.getClass());
+
+            if (cloner != null && !patchGetters.isEmpty()) {
+                return patchBean(origin, patch, cloner, patchGetters, ignoredProperties);
+            }
+        }
+
+        return engine.mergeValue(origin, patch, targetType, ignoredProperties);
+    }
+
+    private Object patchBean(Object origin, Object patch, BeanCloner cloner, Map<String, Function<Object, Object>> patchGetters, IgnoredProperties ignoredProperties) {
+        BeanCloner.Property[] properties = cloner.properties();
+        Object[] values = new Object[properties.length];
+        boolean changed = false;
+
+        for (int index = 0; index < properties.length; index++) {
+            BeanCloner.Property property = properties[index];
+            Object originValue = property.getter.apply(origin);
+            Function<Object, Object> patchGetter = patchGetters.get(property.name);
+
+            if (patchGetter == null || ignoredProperties.isIgnored(property.name)) {
+                values[index] = originValue;
+                continue;
+            }
+
+            Object patchValue = patchGetter.apply(patch);
+            values[index] = patchValue(originValue, patchValue, property.targetType, ignoredProperties.child(property.name));
+            changed |= values[index] != originValue;
+        }
+
+        return changed ? cloner.create(values) : origin;
+    }
+
+    private Object appendList(Collection<?> origin, Collection<?> patch, JavaType elementType, IgnoredProperties ignoredProperties) {
+        if (patch.isEmpty()) return origin;
+
+        List<Object> list = new ArrayList<>(origin.size() + patch.size());
+        list.addAll(origin);
+
+        for (Object element : patch) {
+            list.add(cloners.cloneValue(element, elementType, ignoredProperties));
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.borisskert.cloneutils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base class of the cloners generated at compile time for classes annotated with {@link GenerateCloner}.
+ * {@link CloneUtils} uses them whenever origin, patch and target have the annotated type and no properties are ignored.
+ *
+ * @param <T> the annotated type
+ */
+public abstract class StaticCloner<T> {
+
+    /**
+     * @see CloneUtils#deepClone(Object, String...)
+     */
+    public abstract T deepClone(T object);
+
+    /**
+     * @see CloneUtils#deepPatch(Object, Object, String...)
+     */
+    public abstract T deepPatch(T origin, T patch);
+
+    /**
+     * @see CloneUtils#deepPatchFieldsOnly(Object, Object, String...)
+     */
+    public abstract T deepPatchFieldsOnly(T origin, T patch, String... onlyThisFields);
+
+    /**
+     * @see CloneUtils#deepEquals(Object, Object, String...)
+     */
+    public abstract boolean deepEquals(T left, T right);
+
+    protected static <E> List<E> cloneList(Collection<E> list, UnaryOperator<E> cloneElement) {
+        if (list == null) return null;
+
+        List<E> clonedList = new ArrayList<>(list.size());
+
+        for (E element : list) {
+            clonedList.add(element == null ? null : cloneElement.apply(element));
+        }
+
+        return clonedList;
+    }
+
+    /**
+     * Lists are merged like Jackson merges arrays: the patch elements are appended to the origin elements
+     */
+    protected static <E> List<E> appendList(Collection<E> origin, Collection<E> patch, UnaryOperator<E> cloneElement) {
+        if (patch == null) return cloneList(origin, cloneElement);
+        if (origin == null) return cloneList(patch, cloneElement);
+
+        List<E> mergedList = new ArrayList<>(origin.size() + patch.size());
+
+        for (E element : origin) {
+            mergedList.add(element == null ? null : cloneElement.apply(element));
+        }
+
+        for (E element : patch) {
+            mergedList.add(element == null ? null : cloneElement.apply(element));
+        }
+
+        return mergedList;
+    }
+
+    protected static <E> boolean listEquals(Collection<E> left, Collection<E> right, BiPredicate<E, E> elementEquals) {
+        if (left == right) return true;
+        if (left == null || right == null) return false;
+        if (left.size() != right.size()) return false;
+
+        Iterator<E> rightIterator = right.iterator();
+
+        for (E leftElement : left) {
+            E rightElement = rightIterator.next();
+
+            if (leftElement == null || rightElement == null) {
+                if (leftElement != rightElement) return false;
+            } else if (!elementEquals.test(leftElement, rightElement)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@link BigDecimal#equals(Object)} compares the scale too, unlike {@link CloneUtils#deepEquals(Object, Object, String...)}
+     */
+    protected static boolean decimalEquals(BigDecimal left, BigDecimal right) {
+        if (left == right) return true;
+        if (left == null || right == null) return false;
+
+        return left.compareTo(right) == 0;
+    }
+
+    protected static <E> E patchValue(E origin, E patch) {
+        return patch == null ? origin : patch;
+    }
+
+    protected static <E> E patchNested(StaticCloner<E> cloner, E origin, E patch) {
+        if (patch == null) return cloner.deepClone(origin);
+        if (origin == null) return cloner.deepClone(patch);
+
+        return cloner.deepPatch(origin, patch);
+    }
+
+    protected static <E> E cloneRuntime(E value, Class<E> type) {
+        return CloneUtils.deepClone(value, type);
+    }
+
+    protected static <E> E patchRuntime(E origin, E patch, Class<E> type) {
+        if (patch == null) return CloneUtils.deepClone(origin, type);
+        if (origin == null) return CloneUtils.deepClone(patch, type);
+
+        return CloneUtils.mergeValue(origin, patch, type);
+    }
+
+    protected static boolean equalsRuntime(Object left, Object right) {
+        if (left == right) return true;
+        if (left == null || right == null) return false;
+
+        return CloneUtils.deepEquals(left, right);
+    }
+}
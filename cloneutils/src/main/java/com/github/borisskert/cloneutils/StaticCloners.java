@@ -0,0 +1,58 @@
+package com.github.borisskert.cloneutils;
+
+import java.util.Optional;
+
+/**
+ * Finds the {@link StaticCloner} generated for a class annotated with {@link GenerateCloner}
+ */
+final class StaticCloners {
+    private static final String CLONER_SUFFIX = "_Cloner";
+
+    private static final ClassValue<Optional<StaticCloner<?>>> CLONERS = new ClassValue<Optional<StaticCloner<?>>>() {
+        @Override
+        protected Optional<StaticCloner<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(lookup(type));
+        }
+    };
+
+    /**
+     * Prevent instance creation
+     */
+    private StaticCloners() {
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @param type the annotated class
+     * @return the generated cloner or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    static <T> StaticCloner<T> find(Class<?> type) {
+        return (StaticCloner<T>) CLONERS.get(type).orElse(null);
+    }
+
+    /**
+     * The generated cloner is a top-level class in the same package: the nested class names are joined by underscores.
+     *
+     * @param binaryName the binary name of the annotated class, like "my.pkg.Outer$Inner"
+     * @return the binary name of the generated cloner, like "my.pkg.Outer_Inner_Cloner"
+     */
+    static String clonerNameOf(String binaryName) {
+        return binaryName.replace('$', '_') + CLONER_SUFFIX;
+    }
+
+    private static StaticCloner<?> lookup(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getClassLoader() == null) return null;
+
+        try {
+            Class<?> clonerClass = Class.forName(clonerNameOf(type.getName()), true, type.getClassLoader());
+            if (!StaticCloner.class.isAssignableFrom(clonerClass)) return null;
+
+            return (StaticCloner<?>) clonerClass.getField("INSTANCE").get(null);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new CloneException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * Clones objects by serializing them once into a {@link TokenBuffer} and deserializing the target straight from it.
+ * Immutable values pass the buffer as they are, see {@link ImmutableValueModule},
+ * ignored properties are not even written into it, see {@link IgnoredPropertiesModule}.
+ */
+class TokenCloner {
+    private final ObjectMapper writingMapper;
+    private final ObjectWriter sharingWriter;
+    private final ObjectMapper readingMapper;
+
+    TokenCloner(ObjectMapper writingMapper, ObjectMapper readingMapper) {
+        this.writingMapper = writingMapper;
+        this.sharingWriter = ImmutableValueModule.sharing(writingMapper.writer());
+        this.readingMapper = readingMapper;
+    }
+
+    <T> T clone(Object object, JavaType targetType, IgnoredProperties ignoredProperties) throws CloneException {
+        TokenBuffer objectAsTokens = new TokenBuffer(writingMapper, false);
+
+        try {
+            IgnoredPropertiesModule.ignoring(sharingWriter, ignoredProperties).writeValue(objectAsTokens, object);
+
+            return readingMapper.readValue(objectAsTokens.asParser(readingMapper), targetType);
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    /**
+     * @return a reader for {@link #clone(Object, ObjectReader, IgnoredProperties)} which resolves its deserializer once
+     */
+    ObjectReader readerFor(JavaType targetType) {
+        return readingMapper.readerFor(targetType);
+    }
+
+    <T> T clone(Object object, ObjectReader targetReader, IgnoredProperties ignoredProperties) throws CloneException {
+        TokenBuffer objectAsTokens = new TokenBuffer(writingMapper, false);
+
+        try {
+            IgnoredPropertiesModule.ignoring(sharingWriter, ignoredProperties).writeValue(objectAsTokens, object);
+
+            return targetReader.readValue(objectAsTokens.asParser(readingMapper));
+        } catch (IOException e) {
+            throw new CloneException(e);
+        }
+    }
+}
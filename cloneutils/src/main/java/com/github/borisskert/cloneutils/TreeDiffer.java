@@ -0,0 +1,161 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates a {@link DeepDiff} by walking the JSON trees of both objects side by side.
+ * Ignored properties are not written into the trees, see {@link IgnoredPropertiesModule}.
+ * <p>
+ * Array elements are compared by their index: changed elements are replaced,
+ * additional elements are added at the end and missing ones are removed from the end.
+ */
+class TreeDiffer {
+    private final ObjectMapper writingMapper;
+    private final ObjectMapper readingMapper;
+
+    TreeDiffer(ObjectMapper writingMapper, ObjectMapper readingMapper) {
+        this.writingMapper = writingMapper;
+        this.readingMapper = readingMapper;
+    }
+
+    @SuppressWarnings("unchecked")
+    DeepDiff diff(Object before, Object after, IgnoredProperties ignoredProperties) throws CloneException {
+        try {
+            JsonNode beforeAsTree = toTree(before, ignoredProperties);
+            JsonNode afterAsTree = toTree(after, ignoredProperties);
+
+            if (!beforeAsTree.isObject() || !afterAsTree.isObject()) {
+                throw new IllegalArgumentException("Only objects written as JSON objects can be diffed");
+            }
+
+            List<DeepDiff.Change> changes = new ArrayList<>();
+            ObjectNode mergePatch = diffObjects(new ArrayList<>(), (ObjectNode) beforeAsTree, (ObjectNode) afterAsTree, changes);
+
+            return new DeepDiff(changes, readingMapper.treeToValue(mergePatch, Map.class));
+        } catch (IOException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    ObjectNode toTree(Object object) {
+        try {
+            JsonNode tree = toTree(object, IgnoredProperties.NONE);
+
+            if (!tree.isObject()) {
+                throw new IllegalArgumentException("Only objects written as JSON objects can be patched by a diff");
+            }
+
+            return (ObjectNode) tree;
+        } catch (IOException | RuntimeException e) {
+            throw new CloneException(e);
+        }
+    }
+
+    private JsonNode toTree(Object object, IgnoredProperties ignoredProperties) throws IOException {
+        TokenBuffer objectAsTokens = new TokenBuffer(writingMapper, false);
+        IgnoredPropertiesModule.ignoring(writingMapper.writer(), ignoredProperties).writeValue(objectAsTokens, object);
+
+        return readingMapper.readTree(objectAsTokens.asParser(readingMapper));
+    }
+
+    /**
+     * @return the merge patch of the objects, empty if they are equal
+     */
+    private ObjectNode diffObjects(List<String> path, ObjectNode before, ObjectNode after, List<DeepDiff.Change> changes) throws JsonProcessingException {
+        ObjectNode mergePatch = readingMapper.getNodeFactory().objectNode();
+
+        for (Iterator<String> names = before.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+
+            if (!after.has(name)) {
+                path.add(name);
+                changes.add(change(DeepDiff.Change.Operation.REMOVE, path, null));
+                path.remove(path.size() - 1);
+
+                mergePatch.putNull(name);
+            }
+        }
+
+        for (Iterator<Map.Entry<String, JsonNode>> fields = after.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode afterValue = field.getValue();
+            JsonNode beforeValue = before.get(name);
+
+            path.add(name);
+
+            if (beforeValue == null) {
+                changes.add(change(DeepDiff.Change.Operation.ADD, path, afterValue));
+                mergePatch.set(name, afterValue);
+            } else if (beforeValue.isObject() && afterValue.isObject()) {
+                ObjectNode childMergePatch = diffObjects(path, (ObjectNode) beforeValue, (ObjectNode) afterValue, changes);
+                if (childMergePatch.size() > 0) mergePatch.set(name, childMergePatch);
+            } else if (beforeValue.isArray() && afterValue.isArray()) {
+                if (diffArrays(path, (ArrayNode) beforeValue, (ArrayNode) afterValue, changes)) mergePatch.set(name, afterValue);
+            } else if (!beforeValue.equals(afterValue)) {
+                changes.add(change(DeepDiff.Change.Operation.REPLACE, path, afterValue));
+                mergePatch.set(name, afterValue);
+            }
+
+            path.remove(path.size() - 1);
+        }
+
+        return mergePatch;
+    }
+
+    /**
+     * @return true if the arrays differ
+     */
+    private boolean diffArrays(List<String> path, ArrayNode before, ArrayNode after, List<DeepDiff.Change> changes) throws JsonProcessingException {
+        int changeCount = changes.size();
+        int commonSize = Math.min(before.size(), after.size());
+
+        for (int index = 0; index < commonSize; index++) {
+            JsonNode beforeValue = before.get(index);
+            JsonNode afterValue = after.get(index);
+
+            path.add(Integer.toString(index));
+
+            if (beforeValue.isObject() && afterValue.isObject()) {
+                diffObjects(path, (ObjectNode) beforeValue, (ObjectNode) afterValue, changes);
+            } else if (beforeValue.isArray() && afterValue.isArray()) {
+                diffArrays(path, (ArrayNode) beforeValue, (ArrayNode) afterValue, changes);
+            } else if (!beforeValue.equals(afterValue)) {
+                changes.add(change(DeepDiff.Change.Operation.REPLACE, path, afterValue));
+            }
+
+            path.remove(path.size() - 1);
+        }
+
+        for (int index = commonSize; index < after.size(); index++) {
+            path.add(Integer.toString(index));
+            changes.add(change(DeepDiff.Change.Operation.ADD, path, after.get(index)));
+            path.remove(path.size() - 1);
+        }
+
+        // from the end, so the indices of the remaining elements stay valid
+        for (int index = before.size() - 1; index >= commonSize; index--) {
+            path.add(Integer.toString(index));
+            changes.add(change(DeepDiff.Change.Operation.REMOVE, path, null));
+            path.remove(path.size() - 1);
+        }
+
+        return changes.size() > changeCount;
+    }
+
+    private DeepDiff.Change change(DeepDiff.Change.Operation operation, List<String> path, JsonNode value) throws JsonProcessingException {
+        Object plainValue = value == null ? null : readingMapper.treeToValue(value, Object.class);
+        return new DeepDiff.Change(operation, path, plainValue, value);
+    }
+}
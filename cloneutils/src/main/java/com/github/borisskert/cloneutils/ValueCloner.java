@@ -0,0 +1,10 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+/**
+ * Clones the nested values of a {@link BeanCloner}
+ */
+interface ValueCloner {
+    Object cloneValue(Object value, JavaType targetType, IgnoredProperties ignoredProperties);
+}
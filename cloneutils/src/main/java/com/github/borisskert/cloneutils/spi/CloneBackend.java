@@ -0,0 +1,35 @@
+package com.github.borisskert.cloneutils.spi;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.CloneException;
+
+/**
+ * Clones values for a {@link com.github.borisskert.cloneutils.CloneEngine}. The engine selects a backend per engine
+ * or per class, see {@link com.github.borisskert.cloneutils.CloneEngine.Builder#backend(CloneBackend)}.
+ * {@link com.github.borisskert.cloneutils.CloneBackends} offers the built-in backends.
+ * <p>
+ * A backend has to clone like the Jackson backend does: the clone equals the value written as JSON and read as target
+ * type, without the ignored properties. Values of immutable types are shared by the engine before a backend is asked.
+ * Backends are used by many threads at once.
+ */
+public interface CloneBackend {
+
+    /**
+     * @return the name of the backend, like "jackson"
+     */
+    String getName();
+
+    /**
+     * Clones the value into a new instance of the target type. Nested values should be cloned by
+     * {@link CloneContext#cloneProperty(String, Object, JavaType)} or {@link CloneContext#cloneElement(Object, JavaType)},
+     * so the ignored properties and the backends selected for their classes apply. A backend which cannot clone
+     * the value itself delegates it to another backend, like to {@link com.github.borisskert.cloneutils.CloneBackends#jackson()}.
+     *
+     * @param value      the value to be cloned (not null)
+     * @param targetType the type of the clone
+     * @param context    the context of the value within the cloned object
+     * @return the clone
+     * @throws CloneException if something fails
+     */
+    Object cloneValue(Object value, JavaType targetType, CloneContext context) throws CloneException;
+}
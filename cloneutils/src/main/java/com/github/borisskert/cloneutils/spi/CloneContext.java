@@ -0,0 +1,51 @@
+package com.github.borisskert.cloneutils.spi;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.CloneException;
+
+import java.lang.reflect.Type;
+
+/**
+ * The position of a value within the object cloned by an engine, passed to a {@link CloneBackend}.
+ * Contexts are created by the engine only.
+ */
+public interface CloneContext {
+
+    /**
+     * @param propertyName the name of a property of the current value
+     * @return true if the property is ignored and has to be left out of the clone
+     */
+    boolean isIgnored(String propertyName);
+
+    /**
+     * Clones the value of a property of the current value by the backend selected for it
+     *
+     * @param propertyName the name of the property, it must not be ignored
+     * @param value        the property value (may be null)
+     * @param targetType   the type of the target property
+     * @return the clone or null if the value is null
+     * @throws CloneException if something fails
+     */
+    Object cloneProperty(String propertyName, Object value, JavaType targetType) throws CloneException;
+
+    /**
+     * Clones an element of the current value, like of a collection, by the backend selected for it.
+     * Arrays are transparent for ignored properties: an element has the ignored properties of its collection.
+     *
+     * @param element    the element (may be null)
+     * @param targetType the type of the target element
+     * @return the clone or null if the element is null
+     * @throws CloneException if something fails
+     */
+    Object cloneElement(Object element, JavaType targetType) throws CloneException;
+
+    /**
+     * @return true if values of the type are shared between origin and clone
+     */
+    boolean isImmutable(Class<?> type);
+
+    /**
+     * @return the type as resolved by the engine's configuration
+     */
+    JavaType constructType(Type type);
+}
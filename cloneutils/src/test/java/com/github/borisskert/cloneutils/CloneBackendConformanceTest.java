@@ -0,0 +1,323 @@
+package com.github.borisskert.cloneutils;
+
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+/**
+ * The scenarios of {@link CloneUtilsTest} every {@link CloneBackend} has to pass: extend it for a backend.
+ * It's shipped within the test-jar of cloneutils.
+ * <p>
+ * {@link CloneEngine#deepPatch(Object, Object, String...)} merges the objects regardless of the engine's backends,
+ * so deep patching is out of scope of these scenarios. {@link CloneEngine#patch(Object, Object, Class, String...)}
+ * clones origin and patch by the backend and is covered.
+ */
+public abstract class CloneBackendConformanceTest {
+
+    private CloneEngine engine;
+
+    protected abstract CloneBackend backend();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        engine = CloneEngine.builder()
+                .backend(backend())
+                .build();
+    }
+
+    @Test
+    public void shouldBeEqualAfterClone() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                Arrays.asList("first", "second")
+        );
+
+        TestObject cloned = engine.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(cloned.getInnerTestObjectProperty(), is(not(sameInstance(object.getInnerTestObjectProperty()))));
+        assertThat(cloned.getStringList(), is(not(sameInstance(object.getStringList()))));
+    }
+
+    @Test
+    public void shouldNotBeModifiedIfInnerListObjectIsModified() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        ));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        innerInnerTestList
+                ),
+                null
+        );
+
+        TestObject cloned = engine.deepClone(object);
+
+        innerInnerTestList.get(0).setStringProperty("my deeper string 2");
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(null, null, null));
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> clonedInnerTestList = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty();
+        assertThat(clonedInnerTestList, hasSize(1));
+        assertThat(clonedInnerTestList.get(0).getStringProperty(), is(equalTo("my deeper string")));
+    }
+
+    @Test
+    public void shouldCloneDifferentTypes() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                LocalDate.of(2020, 2, 20),
+                LocalDateTime.of(2020, 2, 20, 20, 20),
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        OtherTestObject cloned = engine.deepClone(object, OtherTestObject.class);
+
+        assertThat(cloned.getStringProperty(), is(equalTo(object.getStringProperty())));
+        assertThat(cloned.getIntegerProperty(), is(equalTo(object.getIntegerProperty())));
+        assertThat(cloned.getDoubleProperty(), is(equalTo(object.getDoubleProperty())));
+        assertThat(cloned.getLongProperty(), is(equalTo(object.getLongProperty())));
+        assertThat(cloned.getLocalDateProperty(), is(equalTo(object.getLocalDateProperty())));
+        assertThat(cloned.getLocalDateTimeProperty(), is(equalTo(object.getLocalDateTimeProperty())));
+
+        OtherTestObject.InnerTestObject clonedInnerTestObject = cloned.getInnerTestObjectProperty();
+
+        assertThat(clonedInnerTestObject.getStringProperty(), is(equalTo("my other string")));
+        assertThat(clonedInnerTestObject.getIntegerProperty(), is(equalTo(4321)));
+        assertThat(clonedInnerTestObject.getDoubleProperty(), is(equalTo(52.72)));
+    }
+
+    @Test
+    public void shouldIgnoreDeeperPropertyWhileCloningInnerListObjects() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        ));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        new TestObject.InnerTestObject.InnerInnerTestObject(
+                                "my deep string",
+                                654,
+                                87.32
+                        ),
+                        innerInnerTestList
+                ),
+                null
+        );
+
+        TestObject cloned = engine.deepClone(
+                object,
+                "innerTestObjectProperty.innerInnerTestListProperty.stringProperty",
+                "innerTestObjectProperty.innerInnerTestObjectProperty.integerProperty"
+        );
+
+        TestObject.InnerTestObject.InnerInnerTestObject clonedInnerInnerTestObject = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0);
+
+        assertThat(clonedInnerInnerTestObject.getStringProperty(), is(nullValue()));
+        assertThat(clonedInnerInnerTestObject.getIntegerProperty(), is(9875));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(equalTo("my deep string")));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getIntegerProperty(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldIgnorePropertiesMatchingWildcardPatternsWhileCloning() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        ));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        innerInnerTestList
+                ),
+                null
+        );
+
+        TestObject withoutAnyString = engine.deepClone(object, "**.stringProperty");
+        TestObject withoutInnerIntegers = engine.deepClone(object, "*.*.integerProperty");
+
+        assertThat(withoutAnyString.getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getIntegerProperty(), is(9875));
+
+        assertThat(withoutInnerIntegers.getInnerTestObjectProperty().getIntegerProperty(), is(4321));
+        assertThat(withoutInnerIntegers.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getIntegerProperty(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldShareImmutableValuesWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                LocalDate.of(2020, 2, 20),
+                LocalDateTime.of(2020, 2, 20, 20, 20),
+                null,
+                null
+        );
+
+        TestObject cloned = engine.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(cloned.getStringProperty(), is(sameInstance(object.getStringProperty())));
+        assertThat(cloned.getLocalDateProperty(), is(sameInstance(object.getLocalDateProperty())));
+    }
+
+    @Test
+    public void shouldIgnoreDeepPropertiesOfMapsWhileCloning() throws Exception {
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("blob", "my large value");
+        inner.put("name", "my name");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("inner", inner);
+        map.put("list", new ArrayList<>(Arrays.asList("my string", 1234)));
+
+        Map<String, Object> cloned = engine.deepClone(map, "inner.blob");
+
+        assertThat(((Map<?, ?>) cloned.get("inner")).containsKey("blob"), is(false));
+        assertThat(((Map<?, ?>) cloned.get("inner")).get("name"), is(equalTo("my name")));
+        assertThat(cloned.get("list"), is(equalTo(map.get("list"))));
+        assertThat(cloned.get("list"), is(not(sameInstance(map.get("list")))));
+    }
+
+    @Test
+    public void shouldPatchObjectIncludingListProperty() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                null,
+                new ArrayList<>(Arrays.asList("value in string list"))
+        );
+
+        TestObject patch = new TestObject(
+                "my string patched",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                null,
+                new ArrayList<>(Arrays.asList("patched value in string list"))
+        );
+
+        TestObject patched = engine.patch(origin, patch, TestObject.class);
+
+        assertThat(patched.getStringProperty(), is(equalTo("my string patched")));
+        assertThat(patched.getStringList(), is(equalTo(Arrays.asList("patched value in string list"))));
+    }
+
+    @Test
+    public void shouldDeepCloneAllObjectsAndLargeListsInParallel() throws Exception {
+        List<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+
+        for (int index = 0; index < 1000; index++) {
+            innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject("my inner string " + index, index, 1.1));
+        }
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, innerInnerTestList),
+                null
+        );
+
+        List<TestObject> objects = Arrays.asList(object, null, object);
+
+        List<OtherTestObject> cloned = engine.deepCloneAll(objects, OtherTestObject.class, "**.stringProperty");
+        TestObject clonedInParallel = engine.deepCloneParallel(object);
+
+        assertThat(cloned, hasSize(3));
+        assertThat(cloned.get(1), is(nullValue()));
+        assertThat(cloned.get(2).getStringProperty(), is(nullValue()));
+        assertThat(cloned.get(2).getInnerTestObjectProperty().getIntegerProperty(), is(equalTo(4321)));
+
+        assertThat(clonedInParallel, is(equalTo(object)));
+        assertThat(clonedInParallel.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(999), is(not(sameInstance(innerInnerTestList.get(999)))));
+    }
+}
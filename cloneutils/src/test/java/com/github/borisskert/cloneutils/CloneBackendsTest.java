@@ -0,0 +1,31 @@
+package com.github.borisskert.cloneutils;
+
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import org.junit.jupiter.api.Nested;
+
+class CloneBackendsTest {
+
+    @Nested
+    class JacksonBackendTest extends CloneBackendConformanceTest {
+        @Override
+        protected CloneBackend backend() {
+            return CloneBackends.jackson();
+        }
+    }
+
+    @Nested
+    class ReflectiveBackendTest extends CloneBackendConformanceTest {
+        @Override
+        protected CloneBackend backend() {
+            return CloneBackends.reflective();
+        }
+    }
+
+    @Nested
+    class GeneratedBackendTest extends CloneBackendConformanceTest {
+        @Override
+        protected CloneBackend backend() {
+            return CloneBackends.generated();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.github.borisskert.cloneutils.spi.CloneBackend;
+import com.github.borisskert.cloneutils.spi.CloneContext;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CloneEngineTest {
+
+    @Test
+    public void shouldKeepImmutableTypesWithinTheirEngine() throws Exception {
+        CloneEngine engine = CloneEngine.builder()
+                .registerImmutableType(Date.class)
+                .build();
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", new Date(1234567890L));
+
+        Map<String, Object> clonedByEngine = engine.deepClone(map);
+        Map<String, Object> clonedByDefault = CloneUtils.deepClone(map);
+
+        assertThat(clonedByEngine.get("date"), is(sameInstance(map.get("date"))));
+        assertThat(clonedByDefault.get("date"), is(not(sameInstance(map.get("date")))));
+    }
+
+    @Test
+    public void shouldApplyFeaturesOfTheEngine() throws Exception {
+        CloneEngine engine = CloneEngine.builder()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
+                .build();
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("stringProperty", "my string");
+        map.put("longProperty", 1234L);
+        map.put("unknownProperty", "my unknown value");
+
+        TestObject clonedByDefault = CloneUtils.deepClone(map, TestObject.class);
+
+        assertThat(clonedByDefault.getStringProperty(), is(equalTo("my string")));
+        assertThrows(CloneException.class, () -> engine.deepClone(map, TestObject.class));
+        assertThrows(CloneException.class, () -> engine.deepClone(clonedByDefault, TestObject.InnerTestObject.class));
+    }
+
+    @Test
+    public void shouldSelectBackendsPerClass() throws Exception {
+        AtomicInteger clonedByBackend = new AtomicInteger();
+
+        CloneBackend countingBackend = new CloneBackend() {
+            @Override
+            public String getName() {
+                return "counting";
+            }
+
+            @Override
+            public Object cloneValue(Object value, JavaType targetType, CloneContext context) throws CloneException {
+                clonedByBackend.incrementAndGet();
+                return CloneBackends.jackson().cloneValue(value, targetType, context);
+            }
+        };
+
+        CloneEngine engine = CloneEngine.builder()
+                .backend(CloneBackends.reflective())
+                .backend(TestObject.InnerTestObject.InnerInnerTestObject.class, countingBackend)
+                .build();
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject("my deeper string", 9875, 91.82));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        new TestObject.InnerTestObject.InnerInnerTestObject("my deep string", 654, 87.32),
+                        innerInnerTestList
+                ),
+                null
+        );
+
+        TestObject cloned = engine.deepClone(object, "innerTestObjectProperty.innerInnerTestListProperty.stringProperty");
+
+        assertThat(clonedByBackend.get(), is(equalTo(2)));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(equalTo("my deep string")));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getIntegerProperty(), is(equalTo(9875)));
+    }
+
+    @Test
+    public void shouldDecideBackendsAdaptivelyAndPinThem() throws Exception {
+        CloneEngine engine = CloneEngine.builder()
+                .adaptive(CloneBackends.generated(), CloneBackends.reflective(), CloneBackends.jackson())
+                .adaptiveSamples(4)
+                .build();
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, null),
+                null
+        );
+
+        for (int index = 0; index < 20; index++) {
+            assertThat(engine.deepClone(object), is(equalTo(object)));
+        }
+
+        BackendDecision decision = findDecision(engine, TestObject.class);
+
+        assertThat(decision.isPinned(), is(false));
+        assertThat(decision.getBackend(), is(not(nullValue())));
+        assertThat(decision.getAverageNanos().keySet(), is(equalTo(new HashSet<>(Arrays.asList("reflective", "jackson")))));
+
+        engine.pinBackend(TestObject.class, TestObject.class, CloneBackends.jackson());
+
+        assertThat(engine.deepClone(object), is(equalTo(object)));
+        assertThat(findDecision(engine, TestObject.class).isPinned(), is(true));
+        assertThat(findDecision(engine, TestObject.class).getBackend(), is(sameInstance(CloneBackends.jackson())));
+    }
+
+
+    @Test
+    public void shouldPinBackendsOfTargetClassesFromOtherClassLoaders() throws Exception {
+        URL classes = TestObject.class.getProtectionDomain().getCodeSource().getLocation();
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, TestObject.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith(TestObject.class.getName())) return super.loadClass(name, resolve);
+
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loadedType = findLoadedClass(name);
+                    return loadedType != null ? loadedType : findClass(name);
+                }
+            }
+        }) {
+            Class<?> loadedType = loader.loadClass(TestObject.class.getName());
+            AtomicInteger clonedByBackend = new AtomicInteger();
+
+            CloneBackend countingBackend = new CloneBackend() {
+                @Override
+                public String getName() {
+                    return "counting";
+                }
+
+                @Override
+                public Object cloneValue(Object value, JavaType targetType, CloneContext context) throws CloneException {
+                    clonedByBackend.incrementAndGet();
+                    return CloneBackends.jackson().cloneValue(value, targetType, context);
+                }
+            };
+
+            CloneEngine engine = CloneEngine.builder().build();
+            engine.pinBackend(HashMap.class, loadedType, countingBackend);
+
+            Map<String, Object> map = new HashMap<>();
+            map.put("stringProperty", "my string");
+
+            Object cloned = engine.deepClone(map, loadedType);
+
+            assertThat(cloned.getClass(), is(sameInstance(loadedType)));
+            assertThat(clonedByBackend.get(), is(equalTo(1)));
+
+            BackendDecision decision = engine.getBackendDecisions().get(0);
+
+            assertThat(decision.getTargetClass(), is(sameInstance(loadedType)));
+            assertThat(decision.isPinned(), is(true));
+        }
+    }
+    @Test
+    public void shouldPromoteTheFirstEligibleBackendWithoutSamples() throws Exception {
+        CloneEngine engine = CloneEngine.builder()
+                .adaptive(CloneBackends.generated(), CloneBackends.reflective(), CloneBackends.jackson())
+                .adaptiveSamples(0)
+                .build();
+
+        TestObject object = new TestObject("my string", 1234, null, null, null, null, null, null);
+
+        assertThat(engine.deepClone(object), is(equalTo(object)));
+        assertThat(findDecision(engine, TestObject.class).getBackend(), is(sameInstance(CloneBackends.reflective())));
+    }
+
+    @Test
+    public void shouldKeepTheClonersOfASpecPerEngine() throws Exception {
+        CloneEngine engine = CloneEngine.builder().build();
+        CloneEngine otherEngine = CloneEngine.builder()
+                .backend(CloneBackends.jackson())
+                .build();
+
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class).ignore("doubleProperty").build();
+        TestObject object = new TestObject("my string", 1234, 123.123, null, null, null, null, null);
+
+        Function<Object, Object> cloner = spec.clonerFor(engine);
+        Function<Object, Object> otherCloner = spec.clonerFor(otherEngine);
+
+        assertThat(otherCloner, is(not(sameInstance(cloner))));
+        assertThat(spec.clonerFor(engine), is(sameInstance(cloner)));
+        assertThat(spec.clonerFor(otherEngine), is(sameInstance(otherCloner)));
+        assertThat(spec.clonerFor(engine), is(sameInstance(cloner)));
+
+        assertThat(engine.deepClone(object, spec).getDoubleProperty(), is(nullValue()));
+        assertThat(otherEngine.deepClone(object, spec).getDoubleProperty(), is(nullValue()));
+        assertThat(otherEngine.deepClone(object, spec).getStringProperty(), is(equalTo("my string")));
+    }
+
+
+    @Test
+    public void shouldNotKeepTheEnginesOfASpecAlive() throws Exception {
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class).ignore("doubleProperty").build();
+        WeakReference<CloneEngine> engine = cloneBySpec(spec);
+
+        for (int attempt = 0; attempt < 50 && engine.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(engine.get(), is(nullValue()));
+    }
+    /**
+     * @return the engine which is unreachable for the test from now on
+     */
+    private static WeakReference<CloneEngine> cloneBySpec(CloneSpec<TestObject> spec) {
+        CloneEngine engine = CloneEngine.builder().build();
+        TestObject object = new TestObject("my string", 1234, 123.123, null, null, null, null, null);
+
+        assertThat(engine.deepClone(object, spec).getDoubleProperty(), is(nullValue()));
+
+        return new WeakReference<>(engine);
+    }
+
+    private static BackendDecision findDecision(CloneEngine engine, Class<?> type) {
+        return engine.getBackendDecisions().stream()
+                .filter(decision -> decision.getSourceClass() == type && decision.getTargetClass() == type)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+}
@@ -0,0 +1,1897 @@
+package com.github.borisskert.cloneutils;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CloneUtilsTest {
+
+    @Test
+    public void shouldBeEqualAfterClone() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+    }
+
+    @Test
+    public void shouldNotBeModifiedIfOriginIsModified() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object);
+
+        object.setStringProperty("my string 2");
+
+        assertThat(cloned, is(not(equalTo(object))));
+    }
+
+    @Test
+    public void shouldNotBeModifiedIfInnerObjectIsModified() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object);
+
+        object.getInnerTestObjectProperty().setStringProperty("my string 2");
+
+        assertThat(cloned, is(not(equalTo(object))));
+    }
+
+    @Test
+    public void shouldNotBeModifiedIfInnerListObjectIsModified() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        ));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        innerInnerTestList
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object);
+
+        innerInnerTestList.get(0).setStringProperty("my deeper string 2");
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(null, null, null));
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> clonedInnerTestList = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty();
+        assertThat(clonedInnerTestList, hasSize(1));
+        assertThat(clonedInnerTestList.get(0).getStringProperty(), is(equalTo("my deeper string")));
+    }
+
+    @Test
+    public void shouldCloneDifferentTypes() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        OtherTestObject cloned = CloneUtils.deepClone(object, OtherTestObject.class);
+
+        assertThat(object.getStringProperty(), is(equalTo(cloned.getStringProperty())));
+        assertThat(object.getIntegerProperty(), is(equalTo(cloned.getIntegerProperty())));
+        assertThat(object.getDoubleProperty(), is(equalTo(cloned.getDoubleProperty())));
+        assertThat(object.getLongProperty(), is(equalTo(cloned.getLongProperty())));
+
+        assertThat(object.getLocalDateProperty(), is(equalTo(cloned.getLocalDateProperty())));
+        assertThat(object.getLocalDateTimeProperty(), is(equalTo(cloned.getLocalDateTimeProperty())));
+
+        TestObject.InnerTestObject innerTestObject = object.getInnerTestObjectProperty();
+        OtherTestObject.InnerTestObject clonedInnerTestObject = cloned.getInnerTestObjectProperty();
+
+        assertThat(innerTestObject.getStringProperty(), is(equalTo(clonedInnerTestObject.getStringProperty())));
+        assertThat(innerTestObject.getIntegerProperty(), is(equalTo(clonedInnerTestObject.getIntegerProperty())));
+        assertThat(innerTestObject.getDoubleProperty(), is(equalTo(clonedInnerTestObject.getDoubleProperty())));
+    }
+
+    @Test
+    public void shouldIgnorePropertyWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object, "stringProperty");
+
+        assertThat(cloned.getStringProperty(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldIgnoreObjectPropertyWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object, "innerTestObjectProperty");
+
+        assertThat(cloned.getInnerTestObjectProperty(), is(nullValue()));
+        assertThat(cloned.getStringProperty(), is(equalTo("my string")));
+        assertThat(cloned.getLongProperty(), is(1235L));
+    }
+
+    @Test
+    public void shouldIgnoreDeepPropertyWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(object, "innerTestObjectProperty.stringProperty");
+
+        assertThat(cloned.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getIntegerProperty(), is(4321));
+        assertThat(cloned.getInnerTestObjectProperty().getDoubleProperty(), is(52.72));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldIgnoreDeeperPropertyWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        new TestObject.InnerTestObject.InnerInnerTestObject(
+                                "my deeper string",
+                                654,
+                                87.32
+                        ),
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(
+                object,
+                "innerTestObjectProperty.innerInnerTestObjectProperty.stringProperty"
+        );
+
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getIntegerProperty(), is(654));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getDoubleProperty(), is(87.32));
+    }
+
+    @Test
+    public void shouldIgnoreDeeperPropertyWhileCloningInnerListObjects() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        TestObject.InnerTestObject.InnerInnerTestObject innerInnerTestObject = new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        );
+        innerInnerTestList.add(innerInnerTestObject);
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        innerInnerTestList
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(
+                object,
+                "innerTestObjectProperty.innerInnerTestListProperty.stringProperty"
+        );
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> clonedInnerTestList = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty();
+        assertThat(clonedInnerTestList, hasSize(1));
+
+        TestObject.InnerTestObject.InnerInnerTestObject clonedInnerInnerTestObject = clonedInnerTestList.get(0);
+
+        assertThat(clonedInnerInnerTestObject.getStringProperty(), is(nullValue()));
+        assertThat(clonedInnerInnerTestObject.getIntegerProperty(), is(9875));
+        assertThat(clonedInnerInnerTestObject.getDoubleProperty(), is(91.82));
+    }
+
+    @Test
+    public void shouldIgnoreTwoDeeperPropertiesWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        new TestObject.InnerTestObject.InnerInnerTestObject(
+                                "my deeper string",
+                                654,
+                                87.32
+                        ),
+                        null
+                ),
+                null
+        );
+
+
+        TestObject cloned = CloneUtils.deepClone(
+                object,
+                "innerTestObjectProperty.innerInnerTestObjectProperty.stringProperty",
+                "innerTestObjectProperty.innerInnerTestObjectProperty.integerProperty"
+        );
+
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getIntegerProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getDoubleProperty(), is(87.32));
+    }
+
+    @Test
+    public void shouldShareImmutableValuesWhileCloning() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                LocalDate.of(2020, 2, 20),
+                LocalDateTime.of(2020, 2, 20, 20, 20),
+                null,
+                null
+        );
+
+        TestObject cloned = CloneUtils.deepClone(object);
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(cloned.getStringProperty(), is(sameInstance(object.getStringProperty())));
+        assertThat(cloned.getLongProperty(), is(sameInstance(object.getLongProperty())));
+        assertThat(cloned.getLocalDateProperty(), is(sameInstance(object.getLocalDateProperty())));
+        assertThat(cloned.getLocalDateTimeProperty(), is(sameInstance(object.getLocalDateTimeProperty())));
+    }
+
+    @Test
+    public void shouldShareRegisteredImmutableValuesWithinMaps() throws Exception {
+        CloneEngine engine = CloneEngine.builder()
+                .registerImmutableType(Currency.class)
+                .build();
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("date", LocalDate.of(2020, 2, 20));
+        map.put("long", 1235L);
+        map.put("currency", Currency.getInstance("EUR"));
+        map.put("list", new ArrayList<>(Arrays.asList("my string", 1234)));
+
+        Map<String, Object> cloned = engine.deepClone(map);
+
+        assertThat(cloned, is(equalTo(map)));
+        assertThat(cloned, is(not(sameInstance(map))));
+        assertThat(cloned.get("date"), is(sameInstance(map.get("date"))));
+        assertThat(cloned.get("long"), is(sameInstance(map.get("long"))));
+        assertThat(cloned.get("currency"), is(sameInstance(map.get("currency"))));
+        assertThat(cloned.get("list"), is(not(sameInstance(map.get("list")))));
+    }
+
+    @Test
+    public void shouldIgnoreDeepPropertiesOfMapsWhileCloningAndComparing() throws Exception {
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("blob", "my large value");
+        inner.put("name", "my name");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("inner", inner);
+        map.put("string", "my string");
+
+        Map<String, Object> otherInner = new HashMap<>(inner);
+        otherInner.put("blob", "my other large value");
+
+        Map<String, Object> other = new HashMap<>(map);
+        other.put("inner", otherInner);
+
+        Map<String, Object> cloned = CloneUtils.deepClone(map, "inner.blob");
+
+        assertThat(cloned.get("string"), is(equalTo("my string")));
+        assertThat(((Map<?, ?>) cloned.get("inner")).containsKey("blob"), is(false));
+        assertThat(((Map<?, ?>) cloned.get("inner")).get("name"), is(equalTo("my name")));
+        assertThat(CloneUtils.deepEquals(map, other), is(false));
+        assertThat(CloneUtils.deepEquals(map, other, "inner.blob"), is(true));
+    }
+
+    @Test
+    public void shouldIgnoreManyPathsWithCommonPrefixesAndDottedNames() throws Exception {
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("first", "my first value");
+        inner.put("second", "my second value");
+        inner.put("third", "my third value");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("inner", inner);
+        map.put("dotted.name", "my dotted value");
+        map.put("string", "my string");
+
+        Map<String, Object> cloned = CloneUtils.deepClone(
+                map,
+                "inner.first",
+                "inner.second",
+                "inner.unknown.deeper",
+                "dotted.name",
+                "unknown"
+        );
+
+        assertThat(cloned.get("inner"), is(equalTo(Collections.singletonMap("third", "my third value"))));
+        assertThat(cloned.containsKey("dotted.name"), is(false));
+        assertThat(cloned.get("string"), is(equalTo("my string")));
+    }
+
+    @Test
+    public void shouldIgnorePropertiesMatchingWildcardPatternsWhileCloning() throws Exception {
+        ArrayList<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+        innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject(
+                "my deeper string",
+                9875,
+                91.82
+        ));
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        new TestObject.InnerTestObject.InnerInnerTestObject(
+                                "my deep string",
+                                5678,
+                                12.34
+                        ),
+                        innerInnerTestList
+                ),
+                null
+        );
+
+        TestObject withoutAnyString = CloneUtils.deepClone(object, "**.stringProperty");
+
+        assertThat(withoutAnyString.getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getStringProperty(), is(nullValue()));
+        assertThat(withoutAnyString.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getIntegerProperty(), is(9875));
+
+        TestObject withoutInnerIntegers = CloneUtils.deepClone(object, "*.*.integerProperty");
+
+        assertThat(withoutInnerIntegers.getIntegerProperty(), is(1234));
+        assertThat(withoutInnerIntegers.getInnerTestObjectProperty().getIntegerProperty(), is(4321));
+        assertThat(withoutInnerIntegers.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getIntegerProperty(), is(nullValue()));
+        assertThat(withoutInnerIntegers.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getIntegerProperty(), is(nullValue()));
+
+        TestObject withoutListStrings = CloneUtils.deepClone(object, "innerTestObjectProperty.innerInnerTestListProperty[*].stringProperty");
+
+        assertThat(withoutListStrings.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).getStringProperty(), is(nullValue()));
+        assertThat(withoutListStrings.getInnerTestObjectProperty().getInnerInnerTestObjectProperty().getStringProperty(), is(equalTo("my deep string")));
+
+        assertThat(CloneUtils.deepEquals(object, withoutAnyString, "**.stringProperty"), is(true));
+        assertThat(CloneUtils.deepEquals(object, withoutAnyString, "*.stringProperty"), is(false));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedIgnorePatterns() throws Exception {
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                null,
+                null
+        );
+
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "stringList[0]"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "string*"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "[*]"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "stringList[*]x"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "string\\Property"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(object, "stringProperty\\"));
+    }
+
+    @Test
+    public void shouldIgnorePropertiesWithEscapedCharactersInTheirNames() throws Exception {
+        Map<String, Object> items = new HashMap<>();
+        items.put("name", "my name");
+        items.put("note", "my note");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("price[EUR]", 1234);
+        map.put("price[USD]", 1235);
+        map.put("*", "my star");
+        map.put("items[0]", items);
+
+        Map<String, Object> withoutEuroPrice = CloneUtils.deepClone(map, "price\\[EUR\\]");
+
+        assertThat(withoutEuroPrice.containsKey("price[EUR]"), is(false));
+        assertThat(withoutEuroPrice.get("price[USD]"), is(equalTo(1235)));
+        assertThat(withoutEuroPrice.get("*"), is(equalTo("my star")));
+
+        Map<String, Object> withoutStar = CloneUtils.deepClone(map, "\\*");
+
+        assertThat(withoutStar.containsKey("*"), is(false));
+        assertThat(withoutStar.get("price[EUR]"), is(equalTo(1234)));
+
+        Map<String, Object> other = CloneUtils.deepClone(map);
+        ((Map<String, Object>) other.get("items[0]")).put("name", "my other name");
+
+        assertThat(CloneUtils.deepEquals(map, other), is(false));
+        assertThat(CloneUtils.deepEquals(map, other, "items\\[0\\].name"), is(true));
+        assertThat(CloneUtils.deepEquals(map, other, "items\\[0\\].note"), is(false));
+    }
+
+    @Test
+    public void shouldIgnorePropertiesWithinValuesOfCustomSerializers() throws Exception {
+        Envelope envelope = new Envelope();
+        envelope.setContent(new TestObject.InnerTestObject.InnerInnerTestObject("my inner string", 1, 1.1));
+
+        Envelope withoutContentString = CloneUtils.deepClone(envelope, "content.stringProperty");
+        Envelope withoutString = CloneUtils.deepClone(envelope, "stringProperty");
+
+        assertThat(withoutContentString.getContent().getStringProperty(), is(nullValue()));
+        assertThat(withoutContentString.getContent().getIntegerProperty(), is(equalTo(1)));
+        assertThat(withoutString.getContent().getStringProperty(), is(equalTo("my inner string")));
+        assertThat(CloneUtils.deepEquals(envelope, withoutContentString, "content.stringProperty"), is(true));
+        assertThat(CloneUtils.deepEquals(envelope, withoutContentString, "stringProperty"), is(false));
+    }
+
+    @Test
+    public void shouldRejectIgnoredPropertiesWithinObjectsWithTheirOwnFilter() throws Exception {
+        Credentials credentials = new Credentials();
+        credentials.setUser("my user");
+        credentials.setPassword("my password");
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("credentials", credentials);
+
+        assertThat(CloneUtils.deepClone(credentials).getPassword(), is(equalTo("my password")));
+        assertThat(CloneUtils.deepClone(map, "unknown").containsKey("credentials"), is(true));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(credentials, "password"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(map, "credentials.password"));
+        assertThrows(CloneException.class, () -> CloneUtils.deepClone(map, "**.password"));
+    }
+
+    @Test
+    public void shouldDeepPatchToSameType() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                null,
+                null,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string 1",
+                        4322,
+                        null,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject cloned = CloneUtils.deepClone(origin);
+
+        TestObject patched = CloneUtils.deepPatch(origin, patch);
+
+        assertThat(patched.getStringProperty(), is(equalTo(patch.getStringProperty())));
+        assertThat(patched.getIntegerProperty(), is(equalTo(origin.getIntegerProperty())));
+        assertThat(patched.getDoubleProperty(), is(equalTo(origin.getDoubleProperty())));
+        assertThat(patched.getLongProperty(), is(equalTo(patch.getLongProperty())));
+        assertThat(patched.getLocalDateProperty(), is(nullValue()));
+        assertThat(patched.getLocalDateTimeProperty(), is(nullValue()));
+
+        TestObject.InnerTestObject patchedInnerObject = patched.getInnerTestObjectProperty();
+        assertThat(patchedInnerObject.getStringProperty(), is(equalTo(patch.getInnerTestObjectProperty().getStringProperty())));
+        assertThat(patchedInnerObject.getIntegerProperty(), is(equalTo(patch.getInnerTestObjectProperty().getIntegerProperty())));
+        assertThat(patchedInnerObject.getDoubleProperty(), is(equalTo(origin.getInnerTestObjectProperty().getDoubleProperty())));
+
+        assertThat(origin, is(equalTo(cloned)));
+    }
+
+    @Test
+    public void shouldDeepPatchFieldsOnlyToSameType() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                4321,
+                432.19,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string 1",
+                        4322,
+                        null,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject cloneForBackup = CloneUtils.deepClone(origin);
+
+        TestObject patched = CloneUtils.deepPatchFieldsOnly(origin, patch, "stringProperty", "doubleProperty");
+
+        assertThat(patched.getStringProperty(), is(equalTo(patch.getStringProperty())));
+        assertThat(patched.getIntegerProperty(), is(equalTo(origin.getIntegerProperty())));
+        assertThat(patched.getDoubleProperty(), is(equalTo(patch.getDoubleProperty())));
+        assertThat(patched.getLongProperty(), is(equalTo(origin.getLongProperty())));
+        assertThat(patched.getLocalDateProperty(), is(nullValue()));
+        assertThat(patched.getLocalDateTimeProperty(), is(nullValue()));
+
+        TestObject.InnerTestObject patchedInnerObject = patched.getInnerTestObjectProperty();
+        assertThat(patchedInnerObject.getStringProperty(), is(equalTo(origin.getInnerTestObjectProperty().getStringProperty())));
+        assertThat(patchedInnerObject.getIntegerProperty(), is(equalTo(origin.getInnerTestObjectProperty().getIntegerProperty())));
+        assertThat(patchedInnerObject.getDoubleProperty(), is(equalTo(origin.getInnerTestObjectProperty().getDoubleProperty())));
+
+        // the original item should not be modified
+        assertThat(origin, is(equalTo(cloneForBackup)));
+    }
+
+    @Test
+    public void shouldPatchFieldsByCompiledPlans() throws Exception {
+        PatchPlan<TestObject, TestObject> plan = PatchPlan.compile(
+                TestObject.class, TestObject.class, "stringProperty", "doubleProperty", "innerTestObjectProperty", "stringList"
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                4321,
+                432.19,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string 1", null, null, null, null),
+                new ArrayList<>(Collections.singletonList("patched value in string list"))
+        );
+
+        for (int index = 0; index < 3; index++) {
+            TestObject origin = new TestObject(
+                    "my string " + index,
+                    1234 + index,
+                    123.123,
+                    1235L,
+                    null,
+                    null,
+                    new TestObject.InnerTestObject("my other string", 4321, 52.72, null, null),
+                    new ArrayList<>(Collections.singletonList("value in string list"))
+            );
+            TestObject cloneForBackup = CloneUtils.deepClone(origin);
+
+            TestObject patched = plan.apply(origin, patch);
+
+            assertThat(patched, is(equalTo(CloneUtils.deepPatchFieldsOnly(origin, patch, plan.getFields().toArray(new String[0])))));
+            assertThat(patched.getIntegerProperty(), is(equalTo(1234 + index)));
+            assertThat(patched.getInnerTestObjectProperty().getIntegerProperty(), is(equalTo(4321)));
+            assertThat(patched.getStringList(), hasSize(2));
+            assertThat(origin, is(equalTo(cloneForBackup)));
+        }
+
+        assertThat(plan.apply(null, patch), is(nullValue()));
+        assertThrows(IllegalArgumentException.class, () -> PatchPlan.compile(TestObject.class, TestObject.class, "unknownProperty"));
+    }
+
+    @Test
+    public void shouldDeepPatchFieldsOnlyToDifferentType() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                4321,
+                432.19,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string 1",
+                        4322,
+                        null,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject cloneForBackup = CloneUtils.deepClone(origin);
+
+        OtherTestObject patched = CloneUtils.deepPatchFieldsOnly(origin, patch, OtherTestObject.class, "stringProperty", "doubleProperty");
+
+        assertThat(patched.getStringProperty(), is(equalTo(patch.getStringProperty())));
+        assertThat(patched.getIntegerProperty(), is(equalTo(origin.getIntegerProperty())));
+        assertThat(patched.getDoubleProperty(), is(equalTo(patch.getDoubleProperty())));
+        assertThat(patched.getLongProperty(), is(equalTo(origin.getLongProperty())));
+        assertThat(patched.getLocalDateProperty(), is(nullValue()));
+        assertThat(patched.getLocalDateTimeProperty(), is(nullValue()));
+
+        OtherTestObject.InnerTestObject patchedInnerObject = patched.getInnerTestObjectProperty();
+        assertThat(patchedInnerObject.getStringProperty(), is(equalTo(origin.getInnerTestObjectProperty().getStringProperty())));
+        assertThat(patchedInnerObject.getIntegerProperty(), is(equalTo(origin.getInnerTestObjectProperty().getIntegerProperty())));
+        assertThat(patchedInnerObject.getDoubleProperty(), is(equalTo(origin.getInnerTestObjectProperty().getDoubleProperty())));
+
+        // the original item should not be modified
+        assertThat(origin, is(equalTo(cloneForBackup)));
+    }
+
+    @Test
+    public void shouldDeepPatchToDifferentType() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                null,
+                null,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string 1",
+                        4322,
+                        null,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject cloned = CloneUtils.deepClone(origin);
+
+        OtherTestObject patched = CloneUtils.deepPatch(origin, patch, OtherTestObject.class);
+
+        assertThat(patched.getStringProperty(), is(equalTo(patch.getStringProperty())));
+        assertThat(patched.getIntegerProperty(), is(equalTo(origin.getIntegerProperty())));
+        assertThat(patched.getDoubleProperty(), is(equalTo(origin.getDoubleProperty())));
+        assertThat(patched.getLongProperty(), is(equalTo(patch.getLongProperty())));
+        assertThat(patched.getLocalDateProperty(), is(nullValue()));
+        assertThat(patched.getLocalDateTimeProperty(), is(nullValue()));
+
+        OtherTestObject.InnerTestObject patchedInnerObject = patched.getInnerTestObjectProperty();
+        assertThat(patchedInnerObject.getStringProperty(), is(equalTo(patch.getInnerTestObjectProperty().getStringProperty())));
+        assertThat(patchedInnerObject.getIntegerProperty(), is(equalTo(patch.getInnerTestObjectProperty().getIntegerProperty())));
+        assertThat(patchedInnerObject.getDoubleProperty(), is(equalTo(origin.getInnerTestObjectProperty().getDoubleProperty())));
+
+        assertThat(origin, is(equalTo(cloned)));
+    }
+
+    @Test
+    public void shouldDeepEqual() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject other = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        boolean areEqual = CloneUtils.deepEquals(origin, other);
+
+        assertThat(areEqual, is(true));
+    }
+
+    @Test
+    public void shouldNotDeepEqual() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject other = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        boolean areEqual = CloneUtils.deepEquals(origin, other);
+
+        assertThat(areEqual, is(false));
+    }
+
+    @Test
+    public void shouldDeepEqualIgnoringDeeperPropertiesOfInnerListObjects() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        Arrays.asList(
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my inner string", 1, 1.1),
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my other inner string", 2, 2.2)
+                        )
+                ),
+                null
+        );
+
+        TestObject other = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        Arrays.asList(
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my different string", 1, 1.1),
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my other different string", 2, 2.2)
+                        )
+                ),
+                null
+        );
+
+        String ignoredProperty = "innerTestObjectProperty.innerInnerTestListProperty.stringProperty";
+
+        assertThat(CloneUtils.deepEquals(origin, other), is(false));
+        assertThat(CloneUtils.deepEquals(origin, other, ignoredProperty), is(true));
+    }
+
+    @Test
+    public void shouldNotKeepClassLoadersOfClonedClassesAlive() throws Exception {
+        WeakReference<ClassLoader> loader = cloneInSeparateClassLoader(TestObject.class);
+
+        for (int attempt = 0; attempt < 50 && loader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertThat(loader.get(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldDeepEqualMapsRegardlessOfTheirOrder() throws Exception {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("first", "my first value");
+        map.put("second", Arrays.asList(1, 2, 3));
+        map.put("third", Collections.singletonMap("inner", 1234L));
+
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("third", Collections.singletonMap("inner", 1234L));
+        reordered.put("second", Arrays.asList(1, 2, 3));
+        reordered.put("first", "my first value");
+
+        Map<String, Object> different = new LinkedHashMap<>(map);
+        different.put("third", Collections.singletonMap("inner", 4321L));
+
+        Map<String, Object> longer = new LinkedHashMap<>(map);
+        longer.put("fourth", "my fourth value");
+
+        assertThat(CloneUtils.deepEquals(map, reordered), is(true));
+        assertThat(CloneUtils.deepEquals(map, different), is(false));
+        assertThat(CloneUtils.deepEquals(map, different, "third.inner"), is(true));
+        assertThat(CloneUtils.deepEquals(map, longer), is(false));
+        assertThat(CloneUtils.deepEquals(longer, map), is(false));
+    }
+
+    @Test
+    public void shouldDeepEqualDecimalsRegardlessOfTheirScale() throws Exception {
+        Amount amount = new Amount(new BigDecimal("1.0"));
+        Amount rescaled = new Amount(new BigDecimal("1.00"));
+        Amount different = new Amount(new BigDecimal("1.01"));
+
+        assertThat(CloneUtils.deepEquals(amount, rescaled), is(true));
+        assertThat(CloneUtils.deepEquals(amount, different), is(false));
+        assertThat(CloneUtils.deepEquals(
+                Collections.singletonMap("value", new BigDecimal("1.0")),
+                Collections.singletonMap("value", new BigDecimal("1.00"))
+        ), is(true));
+    }
+
+    @Test
+    public void shouldDeepHashConsistentlyWithDeepEquals() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        Arrays.asList(
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my inner string", 1, 1.1),
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my other inner string", 2, 2.2)
+                        )
+                ),
+                Arrays.asList("first", "second")
+        );
+
+        TestObject other = CloneUtils.deepClone(origin);
+        other.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(0).setStringProperty("my different string");
+
+        Map<String, Object> originAsMap = CloneUtils.deepClone(origin, Map.class);
+        String ignoredProperty = "innerTestObjectProperty.innerInnerTestListProperty[*].stringProperty";
+
+        assertThat(CloneUtils.deepHash(origin), is(equalTo(CloneUtils.deepHash(CloneUtils.deepClone(origin)))));
+        assertThat(CloneUtils.deepHash(origin), is(not(equalTo(CloneUtils.deepHash(other)))));
+        assertThat(CloneUtils.deepHash(origin, ignoredProperty), is(equalTo(CloneUtils.deepHash(other, ignoredProperty))));
+
+        assertThat(CloneUtils.deepEquals(origin, originAsMap), is(true));
+        assertThat(CloneUtils.deepHash(origin), is(equalTo(CloneUtils.deepHash(originAsMap))));
+        assertThat(CloneUtils.deepHash(null), is(equalTo(CloneUtils.deepHash(null))));
+    }
+
+    @Test
+    public void shouldDeepHashDecimalsRegardlessOfTheirScale() throws Exception {
+        Amount amount = new Amount(new BigDecimal("1.0"));
+        Amount rescaled = new Amount(new BigDecimal("1.00"));
+
+        assertThat(CloneUtils.deepEquals(amount, rescaled), is(true));
+        assertThat(CloneUtils.deepHash(amount), is(equalTo(CloneUtils.deepHash(rescaled))));
+        assertThat(CloneUtils.deepHash(amount), is(not(equalTo(CloneUtils.deepHash(new Amount(new BigDecimal("1.01")))))));
+        assertThat(CloneUtils.deepHash(new Amount(new BigDecimal("0.0"))), is(equalTo(CloneUtils.deepHash(new Amount(BigDecimal.ZERO)))));
+    }
+
+
+    @Test
+    public void shouldDeepHashEmbeddedValuesByTheirContent() throws Exception {
+        Attachment attachment = new Attachment(new byte[]{1, 2, 3}, new Amount(new BigDecimal("1.0")));
+        Attachment copy = new Attachment(new byte[]{1, 2, 3}, new Amount(new BigDecimal("1.0")));
+
+        assertThat(CloneUtils.deepHash(attachment), is(equalTo(CloneUtils.deepHash(copy))));
+        assertThat(CloneUtils.deepHash(attachment), is(not(equalTo(CloneUtils.deepHash(new Attachment(new byte[]{1, 2, 4}, new Amount(new BigDecimal("1.0"))))))));
+        assertThat(CloneUtils.deepHash(attachment), is(not(equalTo(CloneUtils.deepHash(new Attachment(new byte[]{1, 2, 3}, new Amount(new BigDecimal("1.1"))))))));
+    }
+    @Test
+    public void shouldDeepDiffAndReproduceTheChangedObjectByPatch() throws Exception {
+        TestObject before = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        Arrays.asList(
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my inner string", 1, 1.1),
+                                new TestObject.InnerTestObject.InnerInnerTestObject("my other inner string", 2, 2.2)
+                        )
+                ),
+                Arrays.asList("first", "second", "third")
+        );
+
+        TestObject after = CloneUtils.deepClone(before);
+        after.setLongProperty(null);
+        after.getInnerTestObjectProperty().setStringProperty("my changed string");
+        after.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(1).setIntegerProperty(3);
+        after.setStringList(Arrays.asList("first", "changed"));
+
+        DeepDiff diff = CloneUtils.deepDiff(before, after);
+
+        assertThat(diff.toJsonPatch(), is(equalTo(Arrays.asList(
+                jsonPatchOperation("remove", "/longProperty", null),
+                jsonPatchOperation("replace", "/innerTestObjectProperty/stringProperty", "my changed string"),
+                jsonPatchOperation("replace", "/innerTestObjectProperty/innerInnerTestListProperty/1/integerProperty", 3),
+                jsonPatchOperation("replace", "/stringList/1", "changed"),
+                jsonPatchOperation("remove", "/stringList/2", null)
+        ))));
+
+        Map<String, Object> mergePatch = diff.toMergePatch();
+        assertThat(mergePatch.containsKey("longProperty"), is(true));
+        assertThat(mergePatch.get("longProperty"), is(nullValue()));
+        assertThat(mergePatch.get("stringList"), is(equalTo(Arrays.asList("first", "changed"))));
+        assertThat(mergePatch.containsKey("stringProperty"), is(false));
+
+        TestObject patched = CloneUtils.deepPatch(before, diff);
+
+        assertThat(CloneUtils.deepEquals(patched, after), is(true));
+        assertThat(CloneUtils.deepDiff(before, after, "innerTestObjectProperty", "longProperty", "stringList").isEmpty(), is(true));
+    }
+
+    private static Map<String, Object> jsonPatchOperation(String operation, String path, Object value) {
+        Map<String, Object> jsonPatchOperation = new LinkedHashMap<>();
+        jsonPatchOperation.put("op", operation);
+        jsonPatchOperation.put("path", path);
+        if (value != null) jsonPatchOperation.put("value", value);
+
+        return jsonPatchOperation;
+    }
+
+    @Test
+    public void shouldDeepCloneAllObjectsOfCollectionsAndStreams() throws Exception {
+        List<TestObject> objects = new ArrayList<>();
+
+        for (int index = 0; index < 100; index++) {
+            objects.add(new TestObject(
+                    "my string " + index,
+                    index,
+                    123.123,
+                    1235L,
+                    null,
+                    null,
+                    new TestObject.InnerTestObject(
+                            "my other string " + index,
+                            4321,
+                            52.72,
+                            null,
+                            null
+                    ),
+                    Arrays.asList("first", "second")
+            ));
+        }
+
+        objects.add(null);
+
+        List<OtherTestObject> cloned = CloneUtils.deepCloneAll(objects, OtherTestObject.class, "innerTestObjectProperty.stringProperty");
+        List<TestObject> streamed = CloneUtils.deepCloneAll(objects.stream().parallel(), TestObject.class).collect(Collectors.toList());
+
+        assertThat(cloned, hasSize(101));
+        assertThat(cloned.get(42).getStringProperty(), is(equalTo("my string 42")));
+        assertThat(cloned.get(42).getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.get(100), is(nullValue()));
+
+        assertThat(streamed, is(equalTo(objects)));
+        assertThat(streamed.get(42), is(not(sameInstance(objects.get(42)))));
+    }
+
+    @Test
+    public void shouldDeepCloneAndPatchAllInParallelKeepingTheOrder() throws Exception {
+        List<Map<String, Object>> objects = new ArrayList<>();
+
+        for (int index = 0; index < 5000; index++) {
+            Map<String, Object> object = new HashMap<>();
+            object.put("stringProperty", "my string " + index);
+            object.put("integerProperty", index);
+
+            objects.add(object);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            List<TestObject> cloned = CloneUtils.deepCloneAllParallel(objects, TestObject.class, pool);
+            List<TestObject> patched = CloneUtils.deepPatchAllParallel(cloned, Collections.singletonMap("longProperty", 1234L), pool);
+
+            assertThat(cloned, hasSize(5000));
+            assertThat(cloned.get(4321).getStringProperty(), is(equalTo("my string 4321")));
+            assertThat(patched.get(4321).getIntegerProperty(), is(equalTo(4321)));
+            assertThat(patched.get(4321).getLongProperty(), is(equalTo(1234L)));
+
+            objects.get(3000).put("integerProperty", "first failure");
+            objects.get(4000).put("integerProperty", "second failure");
+
+            CloneException exception = assertThrows(
+                    CloneException.class,
+                    () -> CloneUtils.deepCloneAllParallel(objects, TestObject.class, pool)
+            );
+
+            assertThat(exception.getMessage().contains("first failure"), is(true));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDeepPatchAllReportingFailuresPerElement() throws Exception {
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class).ignore("doubleProperty").build();
+        TestObject patch = new TestObject("my string patched", null, 987.654, null, null, null, null, null);
+
+        List<TestObject> origins = new ArrayList<>();
+
+        for (int index = 0; index < 100; index++) {
+            origins.add(new TestObject("my string " + index, index, 123.123, 1235L, null, null, null, null));
+        }
+
+        origins.add(null);
+
+        List<TestObject> patched = CloneUtils.deepPatchAll(origins, patch, spec);
+        List<TestObject> patchedInParallel = CloneUtils.deepPatchAllParallel(origins, patch, spec);
+
+        assertThat(patched, hasSize(101));
+        assertThat(patched.get(42), is(equalTo(CloneUtils.deepPatch(origins.get(42), patch, "doubleProperty"))));
+        assertThat(patched.get(42).getDoubleProperty(), is(equalTo(123.123)));
+        assertThat(patched.get(100), is(nullValue()));
+        assertThat(patchedInParallel, is(equalTo(patched)));
+
+        List<Object> mixedOrigins = Arrays.asList(origins.get(0), new Object(), origins.get(2), new Object());
+
+        PatchAllException exception = assertThrows(PatchAllException.class, () -> CloneUtils.deepPatchAll(mixedOrigins, patch, spec));
+
+        assertThat(exception.getFailures().keySet(), is(equalTo(new TreeSet<>(Arrays.asList(1, 3)))));
+        assertThat(exception.getCause(), is(sameInstance(exception.getFailures().get(1))));
+        assertThat(exception.<TestObject>getResults().get(2), is(equalTo(patched.get(2))));
+        assertThat(exception.getResults().get(1), is(nullValue()));
+
+        PatchAllException parallelException = assertThrows(PatchAllException.class, () -> CloneUtils.deepPatchAllParallel(mixedOrigins, patch, spec));
+
+        assertThat(parallelException.getFailures().keySet(), is(equalTo(exception.getFailures().keySet())));
+
+        PatchAllException ignoringException = assertThrows(PatchAllException.class, () -> CloneUtils.deepPatchAllParallel(mixedOrigins, patch, "doubleProperty"));
+
+        assertThat(ignoringException.getFailures().keySet(), is(equalTo(exception.getFailures().keySet())));
+        assertThat(ignoringException.<TestObject>getResults().get(2), is(equalTo(patched.get(2))));
+    }
+
+
+    @Test
+    public void shouldApplySpecsToObjectsOfTheirTargetClassOnly() throws Exception {
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class).ignore("doubleProperty").build();
+        TestObject object = new TestObject("my string", 1234, 123.123, null, null, null, null, null);
+        OtherTestObject other = CloneUtils.deepClone(object, OtherTestObject.class);
+        TestObject patch = new TestObject("my string patched", null, null, null, null, null, null, null);
+
+        assertThat(CloneUtils.deepEquals(object, CloneUtils.deepClone(object), spec), is(true));
+
+        assertThrows(CloneException.class, () -> CloneUtils.deepEquals(object, other, spec));
+        assertThrows(CloneException.class, () -> CloneUtils.patchInPlace(other, patch, spec));
+        assertThrows(CloneException.class, () -> CloneUtils.deepPatchSharing(other, patch, spec));
+
+        PatchAllException exception = assertThrows(PatchAllException.class, () -> CloneUtils.deepPatchAll(Arrays.asList(object, other), patch, spec));
+
+        assertThat(exception.getFailures().keySet(), is(equalTo(Collections.singleton(1))));
+        assertThat(other.getStringProperty(), is(equalTo("my string")));
+    }
+    @Test
+    public void shouldFoldPatchesBeforeApplyingThem() throws Exception {
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, null),
+                new ArrayList<>(Collections.singletonList("value in string list"))
+        );
+
+        TestObject firstPatch = new TestObject("my string 1", null, null, null, null, null,
+                new TestObject.InnerTestObject("my other string 1", null, null, null, null),
+                new ArrayList<>(Collections.singletonList("first value"))
+        );
+        TestObject secondPatch = new TestObject(null, 4321, null, null, null, null,
+                new TestObject.InnerTestObject(null, 1, null, null, null),
+                null
+        );
+        TestObject thirdPatch = new TestObject("my string 3", null, 432.19, null, null, null, null,
+                new ArrayList<>(Collections.singletonList("third value"))
+        );
+
+        TestObject patched = CloneUtils.deepPatchFolded(origin, Arrays.asList(firstPatch, null, secondPatch, thirdPatch));
+        TestObject patchedOneByOne = CloneUtils.deepPatch(CloneUtils.deepPatch(CloneUtils.deepPatch(origin, firstPatch), secondPatch), thirdPatch);
+
+        assertThat(patched, is(equalTo(patchedOneByOne)));
+        assertThat(patched.getStringProperty(), is(equalTo("my string 3")));
+        assertThat(patched.getInnerTestObjectProperty().getStringProperty(), is(equalTo("my other string 1")));
+        assertThat(patched.getInnerTestObjectProperty().getIntegerProperty(), is(equalTo(1)));
+        assertThat(patched.getStringList(), is(equalTo(Arrays.asList("value in string list", "first value", "third value"))));
+
+        TestObject patchedIgnoring = CloneUtils.deepPatchFolded(origin, Arrays.asList(firstPatch, thirdPatch), "stringProperty");
+
+        assertThat(patchedIgnoring.getStringProperty(), is(equalTo("my string")));
+        assertThat(patchedIgnoring.getDoubleProperty(), is(equalTo(432.19)));
+        assertThat(CloneUtils.deepPatchFolded(origin, Collections.emptyList()), is(equalTo(origin)));
+    }
+
+    @Test
+    public void shouldDeepCloneLargeListsInParallel() throws Exception {
+        List<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+
+        for (int index = 0; index < 10000; index++) {
+            innerInnerTestList.add(new TestObject.InnerTestObject.InnerInnerTestObject("my inner string " + index, index, 1.1));
+        }
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, innerInnerTestList),
+                null
+        );
+
+        TestObject cloned = CloneUtils.deepCloneParallel(object);
+        TestObject clonedWithoutStrings = CloneUtils.deepCloneParallel(object, "**.stringProperty");
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> clonedList = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty();
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(clonedList, hasSize(10000));
+        assertThat(clonedList.get(9999).getStringProperty(), is(equalTo("my inner string 9999")));
+        assertThat(clonedList.get(9999), is(not(sameInstance(innerInnerTestList.get(9999)))));
+
+        assertThat(clonedWithoutStrings.getStringProperty(), is(nullValue()));
+        assertThat(clonedWithoutStrings.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(5000).getStringProperty(), is(nullValue()));
+        assertThat(clonedWithoutStrings.getInnerTestObjectProperty().getInnerInnerTestListProperty().get(5000).getIntegerProperty(), is(equalTo(5000)));
+    }
+
+    @Test
+    public void shouldCloneAndPatchAndCompareByPreparedSpecs() throws Exception {
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class)
+                .ignore("innerTestObjectProperty.stringProperty")
+                .build();
+        CloneSpec<OtherTestObject> otherSpec = CloneSpec.of(OtherTestObject.class)
+                .ignore("innerTestObjectProperty.stringProperty")
+                .build();
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject patch = new TestObject(
+                "my string 1",
+                null,
+                null,
+                null,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string 1",
+                        4322,
+                        null,
+                        null,
+                        null
+                ),
+                null
+        );
+
+        TestObject cloned = CloneUtils.deepClone(object, spec);
+        OtherTestObject otherCloned = CloneUtils.deepClone(object, otherSpec);
+        TestObject patched = CloneUtils.deepPatch(object, patch, spec);
+
+        assertThat(cloned.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(cloned.getInnerTestObjectProperty().getIntegerProperty(), is(equalTo(4321)));
+        assertThat(CloneUtils.deepClone(object, spec), is(equalTo(cloned)));
+        assertThat(otherCloned.getInnerTestObjectProperty().getStringProperty(), is(nullValue()));
+        assertThat(otherCloned.getStringProperty(), is(equalTo("my string")));
+
+        assertThat(patched.getStringProperty(), is(equalTo("my string 1")));
+        assertThat(patched.getInnerTestObjectProperty().getStringProperty(), is(equalTo("my other string")));
+        assertThat(patched.getInnerTestObjectProperty().getIntegerProperty(), is(equalTo(4322)));
+
+        assertThat(CloneUtils.deepEquals(object, cloned, spec), is(true));
+        assertThat(CloneUtils.deepEquals(object, cloned), is(false));
+
+        assertThat(spec, is(equalTo(CloneSpec.of(TestObject.class).ignore("innerTestObjectProperty.stringProperty").build())));
+        assertThat(spec.hashCode(), is(equalTo(CloneSpec.of(TestObject.class).ignore("innerTestObjectProperty.stringProperty").build().hashCode())));
+        assertThrows(CloneException.class, () -> CloneSpec.of(TestObject.class).ignore("string*").build());
+    }
+
+    @Test
+    public void shouldCloneGraphsKeepingSharedReferencesAndCycles() throws Exception {
+        TestObject.InnerTestObject.InnerInnerTestObject shared = new TestObject.InnerTestObject.InnerInnerTestObject("my shared string", 9875, 91.82);
+        List<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerTestList = new ArrayList<>();
+
+        for (int index = 0; index < 1000; index++) {
+            innerInnerTestList.add(shared);
+        }
+
+        TestObject object = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, shared, innerInnerTestList),
+                null
+        );
+
+        CloneGraph graph = new CloneGraph();
+        TestObject cloned = CloneUtils.deepCloneGraph(object, graph);
+
+        List<TestObject.InnerTestObject.InnerInnerTestObject> clonedList = cloned.getInnerTestObjectProperty().getInnerInnerTestListProperty();
+
+        assertThat(cloned, is(equalTo(object)));
+        assertThat(clonedList.get(0), is(not(sameInstance(shared))));
+        assertThat(clonedList.get(999), is(sameInstance(clonedList.get(0))));
+        assertThat(cloned.getInnerTestObjectProperty().getInnerInnerTestObjectProperty(), is(sameInstance(clonedList.get(0))));
+        assertThat(graph.size(), is(equalTo(4)));
+        assertThat(graph.getClone(shared), is(sameInstance(clonedList.get(0))));
+
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.setNext(second);
+        second.setNext(first);
+
+        Node clonedFirst = CloneUtils.deepCloneGraph(first, graph);
+        Node clonedSecond = CloneUtils.deepCloneGraph(second, graph);
+
+        assertThat(clonedFirst.getName(), is(equalTo("first")));
+        assertThat(clonedFirst.getNext(), is(sameInstance(clonedSecond)));
+        assertThat(clonedSecond.getNext(), is(sameInstance(clonedFirst)));
+        assertThat(clonedFirst, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void shouldCloneIntoExistingInstancesReusingNestedObjectsAndLists() throws Exception {
+        Node source = new Node("source");
+        source.setNext(new Node("source next"));
+        source.setTags(Arrays.asList("first tag", "second tag"));
+
+        Node target = new Node("target");
+        Node targetNext = new Node("target next");
+        targetNext.setNext(new Node("target next next"));
+        List<String> targetTags = new ArrayList<>(Collections.singletonList("target tag"));
+        target.setNext(targetNext);
+        target.setTags(targetTags);
+
+        Node cloned = CloneUtils.cloneInto(source, target);
+
+        assertThat(cloned, is(sameInstance(target)));
+        assertThat(target.getName(), is(equalTo("source")));
+        assertThat(target.getNext(), is(sameInstance(targetNext)));
+        assertThat(targetNext.getName(), is(equalTo("source next")));
+        assertThat(targetNext.getNext(), is(nullValue()));
+        assertThat(target.getTags(), is(sameInstance(targetTags)));
+        assertThat(targetTags, is(equalTo(Arrays.asList("first tag", "second tag"))));
+
+        source.setName("other source");
+        source.setNext(null);
+        CloneUtils.cloneInto(source, target, CloneSpec.of(Node.class).ignore("name").build());
+
+        assertThat(target.getName(), is(equalTo("source")));
+        assertThat(target.getNext(), is(nullValue()));
+
+        TestObject object = new TestObject("my string", 1234, 123.123, 1235L, null, null, null, null);
+        assertThrows(CloneException.class, () -> CloneUtils.cloneInto(object, CloneUtils.deepClone(object)));
+        assertThat(CloneUtils.cloneInto(null, target), is(nullValue()));
+    }
+
+    @Test
+    public void shouldPatchInPlaceLikeDeepPatchAndPatch() throws Exception {
+        CloneSpec<TestObject> spec = CloneSpec.of(TestObject.class).ignore("doubleProperty").build();
+
+        TestObject patch = new TestObject(
+                "my string patched",
+                null,
+                987.654,
+                null,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string patched", null, null, null, null),
+                new ArrayList<>(Collections.singletonList("patched value in string list"))
+        );
+
+        TestObject origin = newPatchOrigin();
+        TestObject.InnerTestObject originInner = origin.getInnerTestObjectProperty();
+        TestObject expected = CloneUtils.deepPatch(newPatchOrigin(), patch, spec);
+
+        TestObject patched = CloneUtils.patchInPlace(origin, patch, spec);
+
+        assertThat(patched, is(sameInstance(origin)));
+        assertThat(patched, is(equalTo(expected)));
+        assertThat(patched.getInnerTestObjectProperty(), is(sameInstance(originInner)));
+        assertThat(patched.getStringList(), hasSize(2));
+        assertThat(patched.getDoubleProperty(), is(equalTo(123.123)));
+
+        origin = newPatchOrigin();
+        patched = CloneUtils.patchInPlace(origin, patch, spec, PatchMode.REPLACE);
+
+        assertThat(patched, is(sameInstance(origin)));
+        assertThat(patched, is(equalTo(CloneUtils.patch(newPatchOrigin(), patch, "doubleProperty"))));
+        assertThat(patched.getInnerTestObjectProperty().getIntegerProperty(), is(nullValue()));
+        assertThat(patched.getStringList(), hasSize(1));
+
+        assertThat(CloneUtils.patchInPlace(origin, null, spec), is(sameInstance(origin)));
+        assertThat(CloneUtils.patchInPlace(null, patch, spec), is(nullValue()));
+    }
+
+    @Test
+    public void shouldPatchSharingUntouchedValuesWithTheOrigin() throws Exception {
+        TestObject.InnerTestObject.InnerInnerTestObject innerInner = new TestObject.InnerTestObject.InnerInnerTestObject("my inner string", 9875, 91.82);
+        List<TestObject.InnerTestObject.InnerInnerTestObject> innerInnerList = new ArrayList<>(Collections.singletonList(innerInner));
+
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1235L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, innerInner, innerInnerList),
+                new ArrayList<>(Collections.singletonList("value in string list"))
+        );
+
+        TestObject patch = new TestObject(null, null, null, null, null, null,
+                new TestObject.InnerTestObject("my other string patched", null, null, null, null),
+                null
+        );
+
+        TestObject patched = CloneUtils.deepPatchSharing(origin, patch);
+
+        assertThat(patched, is(equalTo(CloneUtils.deepPatch(origin, patch))));
+        assertThat(patched, is(not(sameInstance(origin))));
+        assertThat(patched.getInnerTestObjectProperty(), is(not(sameInstance(origin.getInnerTestObjectProperty()))));
+        assertThat(patched.getInnerTestObjectProperty().getInnerInnerTestObjectProperty(), is(sameInstance(innerInner)));
+        assertThat(patched.getInnerTestObjectProperty().getInnerInnerTestListProperty(), is(sameInstance(innerInnerList)));
+        assertThat(patched.getStringList(), is(sameInstance(origin.getStringList())));
+        assertThat(origin.getInnerTestObjectProperty().getStringProperty(), is(equalTo("my other string")));
+
+        TestObject listPatch = new TestObject(null, null, null, null, null, null, null,
+                new ArrayList<>(Collections.singletonList("patched value in string list"))
+        );
+
+        TestObject appended = CloneUtils.deepPatchSharing(origin, listPatch);
+
+        assertThat(appended, is(equalTo(CloneUtils.deepPatch(origin, listPatch))));
+        assertThat(appended.getStringList(), hasSize(2));
+        assertThat(origin.getStringList(), hasSize(1));
+        assertThat(appended.getInnerTestObjectProperty(), is(sameInstance(origin.getInnerTestObjectProperty())));
+
+        TestObject unchanging = new TestObject("my string", 1234, null, null, null, null, null, null);
+
+        assertThat(CloneUtils.deepPatchSharing(origin, unchanging), is(sameInstance(origin)));
+        assertThat(CloneUtils.deepPatchSharing(origin, patch, "innerTestObjectProperty"), is(sameInstance(origin)));
+    }
+
+    private static TestObject newPatchOrigin() {
+        return new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject("my other string", 4321, 52.72, null, null),
+                new ArrayList<>(Collections.singletonList("value in string list"))
+        );
+    }
+
+    @Test
+    public void shouldPatchObjectIncludingListPropertyToDifferentType() throws Exception {
+        ArrayList<String> originStringList = new ArrayList<>();
+        originStringList.add("value in string list");
+
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                originStringList
+        );
+
+        ArrayList<String> patchStringList = new ArrayList<>();
+        patchStringList.add("patched value in string list");
+
+        TestObject patch = new TestObject(
+                "my string patched",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                patchStringList
+        );
+
+        TestObject patched = CloneUtils.patch(origin, patch, TestObject.class);
+
+        List<String> patchedStringList = patched.getStringList();
+        assertThat(patchedStringList, hasSize(1));
+        assertThat(patchedStringList.get(0), is(equalTo("patched value in string list")));
+    }
+
+    @Test
+    public void shouldPatchObjectIncludingListPropertyToSameType() throws Exception {
+        ArrayList<String> originStringList = new ArrayList<>();
+        originStringList.add("value in string list");
+
+        TestObject origin = new TestObject(
+                "my string",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                originStringList
+        );
+
+        ArrayList<String> patchStringList = new ArrayList<>();
+        patchStringList.add("patched value in string list");
+
+        TestObject patch = new TestObject(
+                "my string patched",
+                1234,
+                123.123,
+                1234L,
+                null,
+                null,
+                new TestObject.InnerTestObject(
+                        "my other string",
+                        4321,
+                        52.72,
+                        null,
+                        null
+                ),
+                patchStringList
+        );
+
+        TestObject patched = CloneUtils.patch(origin, patch);
+
+        List<String> patchedStringList = patched.getStringList();
+        assertThat(patchedStringList, hasSize(1));
+        assertThat(patchedStringList.get(0), is(equalTo("patched value in string list")));
+    }
+
+    /**
+     * Loads the class and its nested classes once more by a loader of their own, clones an instance of it
+     * and closes the loader again. Jackson's caches of an engine keep the classes it has seen, so the engine is
+     * dropped along with the loader and Jackson's shared type cache is cleared: only the caches of this library remain.
+     *
+     * @return the loader which is unreachable for the test from now on
+     */
+    private static WeakReference<ClassLoader> cloneInSeparateClassLoader(Class<?> type) throws Exception {
+        URL classes = type.getProtectionDomain().getCodeSource().getLocation();
+
+        URLClassLoader loader = new URLClassLoader(new URL[]{classes}, type.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(type.getName()) && !name.startsWith(type.getName() + "$")) return super.loadClass(name, resolve);
+
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loadedType = findLoadedClass(name);
+                    return loadedType != null ? loadedType : findClass(name);
+                }
+            }
+        };
+
+        Class<?> loadedType = loader.loadClass(type.getName());
+        assertThat(loadedType, is(not(sameInstance(type))));
+
+        CloneEngine engine = CloneEngine.builder().build();
+
+        Object origin = engine.deepClone(Collections.singletonMap("stringProperty", "my string"), loadedType);
+        Object cloned = engine.deepClone(origin);
+
+        assertThat(cloned.getClass(), is(sameInstance(loadedType)));
+        assertThat(cloned, is(not(sameInstance(origin))));
+        assertThat(engine.deepEquals(origin, cloned), is(true));
+
+        loader.close();
+        TypeFactory.defaultInstance().clearCache();
+
+        return new WeakReference<>(loader);
+    }
+
+    @JsonSerialize(using = Envelope.Serializer.class)
+    public static class Envelope {
+        private TestObject.InnerTestObject.InnerInnerTestObject content;
+
+        public TestObject.InnerTestObject.InnerInnerTestObject getContent() {
+            return content;
+        }
+
+        public void setContent(TestObject.InnerTestObject.InnerInnerTestObject content) {
+            this.content = content;
+        }
+
+        public static class Serializer extends JsonSerializer<Envelope> {
+            @Override
+            public void serialize(Envelope envelope, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeStartObject();
+                provider.defaultSerializeField("content", envelope.getContent(), generator);
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    @JsonSerialize(using = Attachment.Serializer.class)
+    public static class Attachment {
+        private final byte[] content;
+        private final Amount amount;
+
+        public Attachment(byte[] content, Amount amount) {
+            this.content = content;
+            this.amount = amount;
+        }
+
+        public static class Serializer extends JsonSerializer<Attachment> {
+            @Override
+            public void serialize(Attachment attachment, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeStartObject();
+                generator.writeFieldName("content");
+                generator.writeBinary(attachment.content);
+                generator.writeFieldName("amount");
+                generator.writeEmbeddedObject(attachment.amount);
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    @JsonFilter("credentials")
+    public static class Credentials {
+        private String user;
+        private String password;
+
+        public String getUser() {
+            return user;
+        }
+
+        public void setUser(String user) {
+            this.user = user;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+
+    public static class Amount {
+        private BigDecimal value;
+
+        public Amount() {
+        }
+
+        public Amount(BigDecimal value) {
+            this.value = value;
+        }
+
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        public void setValue(BigDecimal value) {
+            this.value = value;
+        }
+    }
+
+    public static class Node {
+        private String name;
+        private Node next;
+        private List<String> tags;
+
+        public Node() {
+        }
+
+        public Node(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Node getNext() {
+            return next;
+        }
+
+        public void setNext(Node next) {
+            this.next = next;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+}
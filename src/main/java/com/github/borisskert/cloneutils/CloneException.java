@@ -1,7 +0,0 @@
-package com.github.borisskert.cloneutils;
-
-public class CloneException extends RuntimeException {
-    CloneException(Throwable cause) {
-        super(cause);
-    }
-}